@@ -16,7 +16,7 @@ VALUES
 INSERT INTO `role` (`id`, `name`, `status`, `created`, `updated`, `permissions`)
 VALUES
         ('role_1', 'ADMIN', 'ENABLED', NOW(), NOW(), 'CREATE_USER,MANAGE_CHILD'),
-        ('role_2', 'TEACHER', 'ENABLED', NOW(), NOW(), NULL),
+        ('role_2', 'TEACHER', 'ENABLED', NOW(), NOW(), 'SUBMIT_DAILY_REPORT'),
         ('role_3', 'PARENT', 'ENABLED', NOW(), NOW(), 'MANAGE_CHILD');
 
 INSERT INTO `user_role` (`user_id`, `role_id`, `status`, `created`, `updated`)
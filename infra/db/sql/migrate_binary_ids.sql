@@ -0,0 +1,170 @@
+-- Converts every id and id reference from VARCHAR(36)/CHAR(36) to BINARY(16).
+-- Afterwards start the application with spring.jpa.properties.schoolday.id-storage=binary.
+--
+-- UUID ids keep their value, so their string form is unchanged. Ids that are not UUIDs (such as the
+-- user_1/role_1 rows of basedata.sql) are given a new time-ordered UUID, so anything that stored
+-- them outside the database has to be updated. Run with the application stopped: signed tokens
+-- carry the user id and sessions are re-created at the next login.
+
+USE `schoolday`;
+
+CREATE TABLE `id_map` (
+        `old_id` varchar(36) NOT NULL,
+        `new_id` binary(16) NOT NULL,
+        PRIMARY KEY (`old_id`),
+        UNIQUE KEY `uk_id_map_new_id` (`new_id`)
+);
+
+INSERT INTO `id_map` (`old_id`, `new_id`)
+SELECT `old_id`,
+       IF(`old_id` REGEXP '^[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}$',
+          UNHEX(REPLACE(`old_id`, '-', '')),
+          -- UUID() is time based with the time fields in reverse order, put the high bits first
+          UNHEX(CONCAT(SUBSTR(`uuid`, 15, 4), SUBSTR(`uuid`, 10, 4), SUBSTR(`uuid`, 1, 8),
+                       SUBSTR(`uuid`, 20, 4), SUBSTR(`uuid`, 25, 12))))
+FROM (SELECT `id` AS `old_id`, UUID() AS `uuid` FROM `user`
+      UNION ALL SELECT `id`, UUID() FROM `role`
+      UNION ALL SELECT `id`, UUID() FROM `child`
+      UNION ALL SELECT `id`, UUID() FROM `parent_child`) `ids`;
+
+ALTER TABLE `user_role`
+        DROP FOREIGN KEY `fk_user_role_role_id_role_id`,
+        DROP FOREIGN KEY `fk_user_role_user_id_user_id`;
+ALTER TABLE `parent_child`
+        DROP FOREIGN KEY `fk_parent_child_parent_id_user_id`,
+        DROP FOREIGN KEY `fk_parent_child_child_id_child_id`;
+ALTER TABLE `daily_report`
+        DROP FOREIGN KEY `fk_daily_report_child_id_child_id`,
+        DROP FOREIGN KEY `fk_daily_report_reported_by_user_id`;
+ALTER TABLE `monthly_report`
+        DROP FOREIGN KEY `fk_monthly_report_child_id_child_id`;
+ALTER TABLE `user_session`
+        DROP FOREIGN KEY `fk_user_session_user_id_user_id`,
+        DROP KEY `uk_user_session_active_user_id`,
+        DROP COLUMN `active_user_id`;
+
+-- user
+ALTER TABLE `user` ADD COLUMN `id_bin` binary(16) AFTER `id`;
+UPDATE `user` t JOIN `id_map` m ON m.`old_id` = t.`id` SET t.`id_bin` = m.`new_id`;
+ALTER TABLE `user` DROP PRIMARY KEY, DROP COLUMN `id`;
+ALTER TABLE `user` CHANGE COLUMN `id_bin` `id` binary(16) NOT NULL, ADD PRIMARY KEY (`id`);
+
+-- role
+ALTER TABLE `role` ADD COLUMN `id_bin` binary(16) AFTER `id`;
+UPDATE `role` t JOIN `id_map` m ON m.`old_id` = t.`id` SET t.`id_bin` = m.`new_id`;
+ALTER TABLE `role` DROP PRIMARY KEY, DROP COLUMN `id`;
+ALTER TABLE `role` CHANGE COLUMN `id_bin` `id` binary(16) NOT NULL, ADD PRIMARY KEY (`id`);
+
+-- child
+ALTER TABLE `child`
+        DROP KEY `idx_child_created_id`,
+        DROP KEY `idx_child_status_created_id`,
+        ADD COLUMN `id_bin` binary(16) AFTER `id`;
+UPDATE `child` t JOIN `id_map` m ON m.`old_id` = t.`id` SET t.`id_bin` = m.`new_id`;
+ALTER TABLE `child` DROP PRIMARY KEY, DROP COLUMN `id`;
+ALTER TABLE `child`
+        CHANGE COLUMN `id_bin` `id` binary(16) NOT NULL,
+        ADD PRIMARY KEY (`id`),
+        ADD KEY `idx_child_created_id` (`created`, `id`),
+        ADD KEY `idx_child_status_created_id` (`status`, `created`, `id`);
+
+-- user_role
+ALTER TABLE `user_role`
+        ADD COLUMN `user_id_bin` binary(16) AFTER `user_id`,
+        ADD COLUMN `role_id_bin` binary(16) AFTER `role_id`;
+UPDATE `user_role` t
+        JOIN `id_map` u ON u.`old_id` = t.`user_id`
+        JOIN `id_map` r ON r.`old_id` = t.`role_id`
+SET t.`user_id_bin` = u.`new_id`, t.`role_id_bin` = r.`new_id`;
+ALTER TABLE `user_role` DROP PRIMARY KEY, DROP COLUMN `user_id`, DROP COLUMN `role_id`;
+ALTER TABLE `user_role`
+        CHANGE COLUMN `user_id_bin` `user_id` binary(16) NOT NULL,
+        CHANGE COLUMN `role_id_bin` `role_id` binary(16) NOT NULL,
+        ADD PRIMARY KEY (`user_id`, `role_id`);
+
+-- parent_child
+ALTER TABLE `parent_child`
+        DROP KEY `idx_parent_child_parent_id_status`,
+        ADD COLUMN `id_bin` binary(16) AFTER `id`,
+        ADD COLUMN `parent_id_bin` binary(16) AFTER `parent_id`,
+        ADD COLUMN `child_id_bin` binary(16) AFTER `child_id`;
+UPDATE `parent_child` t
+        JOIN `id_map` i ON i.`old_id` = t.`id`
+        JOIN `id_map` p ON p.`old_id` = t.`parent_id`
+        JOIN `id_map` c ON c.`old_id` = t.`child_id`
+SET t.`id_bin` = i.`new_id`, t.`parent_id_bin` = p.`new_id`, t.`child_id_bin` = c.`new_id`;
+ALTER TABLE `parent_child` DROP PRIMARY KEY, DROP COLUMN `id`, DROP COLUMN `parent_id`, DROP COLUMN `child_id`;
+ALTER TABLE `parent_child`
+        CHANGE COLUMN `id_bin` `id` binary(16) NOT NULL,
+        CHANGE COLUMN `parent_id_bin` `parent_id` binary(16) NOT NULL,
+        CHANGE COLUMN `child_id_bin` `child_id` binary(16) NOT NULL,
+        ADD PRIMARY KEY (`id`),
+        ADD KEY `idx_parent_child_parent_id_status` (`parent_id`, `status`);
+
+-- user_session
+ALTER TABLE `user_session` ADD COLUMN `user_id_bin` binary(16) AFTER `user_id`;
+UPDATE `user_session` t JOIN `id_map` m ON m.`old_id` = t.`user_id` SET t.`user_id_bin` = m.`new_id`;
+ALTER TABLE `user_session` DROP COLUMN `user_id`;
+-- A database that predates the key may still hold several active sessions per user, keep the newest
+UPDATE `user_session` s
+        JOIN (SELECT `token`,
+                     ROW_NUMBER() OVER (PARTITION BY `user_id_bin` ORDER BY `created` DESC, `token` DESC) AS `position`
+              FROM `user_session`
+              WHERE `active` = 1) `ranked` ON `ranked`.`token` = s.`token`
+SET s.`active` = 0, s.`updated` = CURRENT_TIMESTAMP
+WHERE `ranked`.`position` > 1;
+ALTER TABLE `user_session`
+        CHANGE COLUMN `user_id_bin` `user_id` binary(16) NOT NULL,
+        ADD COLUMN `active_user_id` binary(16) GENERATED ALWAYS AS (IF(`active` = 1, `user_id`, NULL)) STORED,
+        ADD UNIQUE KEY `uk_user_session_active_user_id` (`active_user_id`);
+
+-- daily_report, whose ids are always UUIDs
+ALTER TABLE `daily_report`
+        DROP KEY `uk_daily_report_child_id_report_date`,
+        ADD COLUMN `id_bin` binary(16) AFTER `id`,
+        ADD COLUMN `child_id_bin` binary(16) AFTER `child_id`,
+        ADD COLUMN `reported_by_bin` binary(16) AFTER `reported_by`;
+UPDATE `daily_report` t
+        JOIN `id_map` c ON c.`old_id` = t.`child_id`
+        JOIN `id_map` u ON u.`old_id` = t.`reported_by`
+SET t.`id_bin` = UNHEX(REPLACE(t.`id`, '-', '')), t.`child_id_bin` = c.`new_id`, t.`reported_by_bin` = u.`new_id`;
+ALTER TABLE `daily_report` DROP PRIMARY KEY, DROP COLUMN `id`, DROP COLUMN `child_id`, DROP COLUMN `reported_by`;
+ALTER TABLE `daily_report`
+        CHANGE COLUMN `id_bin` `id` binary(16) NOT NULL,
+        CHANGE COLUMN `child_id_bin` `child_id` binary(16) NOT NULL,
+        CHANGE COLUMN `reported_by_bin` `reported_by` binary(16) NOT NULL,
+        ADD PRIMARY KEY (`id`),
+        ADD UNIQUE KEY `uk_daily_report_child_id_report_date` (`child_id`, `report_date`);
+
+-- monthly_report, whose ids are always UUIDs
+ALTER TABLE `monthly_report`
+        DROP KEY `uk_monthly_report_child_id_report_month`,
+        ADD COLUMN `id_bin` binary(16) AFTER `id`,
+        ADD COLUMN `child_id_bin` binary(16) AFTER `child_id`;
+UPDATE `monthly_report` t
+        JOIN `id_map` c ON c.`old_id` = t.`child_id`
+SET t.`id_bin` = UNHEX(REPLACE(t.`id`, '-', '')), t.`child_id_bin` = c.`new_id`;
+ALTER TABLE `monthly_report` DROP PRIMARY KEY, DROP COLUMN `id`, DROP COLUMN `child_id`;
+ALTER TABLE `monthly_report`
+        CHANGE COLUMN `id_bin` `id` binary(16) NOT NULL,
+        CHANGE COLUMN `child_id_bin` `child_id` binary(16) NOT NULL,
+        ADD PRIMARY KEY (`id`),
+        ADD UNIQUE KEY `uk_monthly_report_child_id_report_month` (`child_id`, `report_month`);
+
+ALTER TABLE `user_role`
+        ADD CONSTRAINT `fk_user_role_role_id_role_id` FOREIGN KEY(`role_id`) REFERENCES `role`(`id`),
+        ADD CONSTRAINT `fk_user_role_user_id_user_id` FOREIGN KEY(`user_id`) REFERENCES `user`(`id`);
+ALTER TABLE `parent_child`
+        ADD CONSTRAINT `fk_parent_child_parent_id_user_id` FOREIGN KEY(`parent_id`) REFERENCES `user`(`id`),
+        ADD CONSTRAINT `fk_parent_child_child_id_child_id` FOREIGN KEY(`child_id`) REFERENCES `child`(`id`);
+ALTER TABLE `user_session`
+        ADD CONSTRAINT `fk_user_session_user_id_user_id` FOREIGN KEY(`user_id`) REFERENCES `user`(`id`);
+ALTER TABLE `daily_report`
+        ADD CONSTRAINT `fk_daily_report_child_id_child_id` FOREIGN KEY(`child_id`) REFERENCES `child`(`id`),
+        ADD CONSTRAINT `fk_daily_report_reported_by_user_id` FOREIGN KEY(`reported_by`) REFERENCES `user`(`id`);
+ALTER TABLE `monthly_report`
+        ADD CONSTRAINT `fk_monthly_report_child_id_child_id` FOREIGN KEY(`child_id`) REFERENCES `child`(`id`);
+
+DROP TABLE `id_map`;
+
+exit;
@@ -0,0 +1,29 @@
+-- Brings user_session on a database created from an older schema.sql up to the current one: the
+-- last_accessed column, the sweep indexes and the one-active-session-per-user key.
+--
+-- Before this key existed, concurrent logins could leave a user with several active sessions, and
+-- the key cannot be added while they remain. Every active session of a user except the newest is
+-- deactivated first, so those logins have to sign in again. Run once, with the application stopped.
+
+USE `schoolday`;
+
+UPDATE `user_session` s
+        JOIN (SELECT `token`,
+                     ROW_NUMBER() OVER (PARTITION BY `user_id` ORDER BY `created` DESC, `token` DESC) AS `position`
+              FROM `user_session`
+              WHERE `active` = 1) `ranked` ON `ranked`.`token` = s.`token`
+SET s.`active` = 0, s.`updated` = CURRENT_TIMESTAMP
+WHERE `ranked`.`position` > 1;
+
+ALTER TABLE `user_session`
+        ADD COLUMN `last_accessed` TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP AFTER `updated`;
+-- Without this every existing session would count as used just now
+UPDATE `user_session` SET `last_accessed` = COALESCE(`updated`, `created`);
+
+ALTER TABLE `user_session`
+        ADD COLUMN `active_user_id` VARCHAR(36) GENERATED ALWAYS AS (IF(`active` = 1, `user_id`, NULL)) STORED,
+        ADD UNIQUE KEY `uk_user_session_active_user_id` (`active_user_id`),
+        ADD KEY `idx_user_session_active_updated` (`active`, `updated`),
+        ADD KEY `idx_user_session_active_token` (`active`, `token`);
+
+exit;
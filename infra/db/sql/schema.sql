@@ -31,7 +31,10 @@ CREATE TABLE `child` (
         `status` varchar(50) NOT NULL,
         `created` timestamp NOT NULL DEFAULT CURRENT_TIMESTAMP,
         `updated` timestamp,
-        PRIMARY KEY (`id`)
+        PRIMARY KEY (`id`),
+        KEY `idx_child_created_id` (`created`, `id`),
+        KEY `idx_child_status_created_id` (`status`, `created`, `id`),
+        KEY `idx_child_last_name` (`last_name`)
 );
 
 CREATE TABLE `user_role` (
@@ -54,6 +57,7 @@ CREATE TABLE `parent_child` (
         `created` timestamp NOT NULL DEFAULT CURRENT_TIMESTAMP,
         `updated` timestamp,
         PRIMARY KEY (`id`),
+        KEY `idx_parent_child_parent_id_status` (`parent_id`, `status`),
         CONSTRAINT `fk_parent_child_parent_id_user_id` FOREIGN KEY(`parent_id`) REFERENCES `user`(`id`),
         CONSTRAINT `fk_parent_child_child_id_child_id` FOREIGN KEY(`child_id`) REFERENCES `child`(`id`)
 );
@@ -64,8 +68,47 @@ CREATE TABLE `user_session` (
         `active` TINYINT(1) NOT NULL DEFAULT 1,
         `created` TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
         `updated` TIMESTAMP,
+        `last_accessed` TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+        `active_user_id` VARCHAR(36) GENERATED ALWAYS AS (IF(`active` = 1, `user_id`, NULL)) STORED,
         PRIMARY KEY (`token`),
+        UNIQUE KEY `uk_user_session_active_user_id` (`active_user_id`),
+        KEY `idx_user_session_active_updated` (`active`, `updated`),
+        KEY `idx_user_session_active_token` (`active`, `token`),
         CONSTRAINT `fk_user_session_user_id_user_id` FOREIGN KEY(`user_id`) REFERENCES `user`(`id`)
 );
 
+CREATE TABLE `daily_report` (
+        `id` varchar(36) NOT NULL,
+        `child_id` varchar(36) NOT NULL,
+        `report_date` date NOT NULL,
+        `present` TINYINT(1) NOT NULL DEFAULT 1,
+        `meals_eaten` TINYINT UNSIGNED NOT NULL DEFAULT 0,
+        `nap_minutes` SMALLINT UNSIGNED NOT NULL DEFAULT 0,
+        `mood` varchar(20),
+        `notes` varchar(2000),
+        `reported_by` varchar(36) NOT NULL,
+        `created` timestamp NOT NULL DEFAULT CURRENT_TIMESTAMP,
+        `updated` timestamp,
+        PRIMARY KEY (`id`),
+        UNIQUE KEY `uk_daily_report_child_id_report_date` (`child_id`, `report_date`),
+        CONSTRAINT `fk_daily_report_child_id_child_id` FOREIGN KEY(`child_id`) REFERENCES `child`(`id`),
+        CONSTRAINT `fk_daily_report_reported_by_user_id` FOREIGN KEY(`reported_by`) REFERENCES `user`(`id`)
+);
+
+CREATE TABLE `monthly_report` (
+        `id` varchar(36) NOT NULL,
+        `child_id` varchar(36) NOT NULL,
+        `report_month` date NOT NULL,
+        `days_reported` SMALLINT NOT NULL DEFAULT 0,
+        `days_present` SMALLINT NOT NULL DEFAULT 0,
+        `meals_eaten` INT NOT NULL DEFAULT 0,
+        `nap_minutes` INT NOT NULL DEFAULT 0,
+        `notes_count` SMALLINT NOT NULL DEFAULT 0,
+        `created` timestamp NOT NULL DEFAULT CURRENT_TIMESTAMP,
+        `updated` timestamp,
+        PRIMARY KEY (`id`),
+        UNIQUE KEY `uk_monthly_report_child_id_report_month` (`child_id`, `report_month`),
+        CONSTRAINT `fk_monthly_report_child_id_child_id` FOREIGN KEY(`child_id`) REFERENCES `child`(`id`)
+);
+
 exit;
\ No newline at end of file
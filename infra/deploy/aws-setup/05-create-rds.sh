@@ -19,6 +19,7 @@ source "$RESOURCES_FILE"
 
 DB_INSTANCE_CLASS=${1:-db.t3.micro}
 MULTI_AZ=${2:-true}
+CREATE_REPLICA=${3:-false}
 
 echo "======================================"
 echo "Creating RDS MySQL Database"
@@ -26,6 +27,7 @@ echo "======================================"
 echo "Region: ${AWS_REGION}"
 echo "Instance Class: ${DB_INSTANCE_CLASS}"
 echo "Multi-AZ: ${MULTI_AZ}"
+echo "Read replica: ${CREATE_REPLICA}"
 echo "======================================"
 
 # Get MySQL password from Secrets Manager
@@ -99,6 +101,34 @@ RDS_ENDPOINT=$(aws rds describe-db-instances \
 
 echo "✓ RDS Endpoint: ${RDS_ENDPOINT}"
 
+# Optionally create a read replica for read-only transactions (spring.datasource.replica.url)
+RDS_REPLICA_ENDPOINT=""
+if [ "${CREATE_REPLICA}" = "true" ]; then
+  echo ""
+  echo "Step 4b: Creating read replica..."
+  aws rds create-db-instance-read-replica \
+    --db-instance-identifier schoolday-db-replica \
+    --source-db-instance-identifier schoolday-db \
+    --db-instance-class ${DB_INSTANCE_CLASS} \
+    --vpc-security-group-ids ${RDS_SG} \
+    --publicly-accessible false \
+    --tags Key=Name,Value=schoolday-db-replica Key=Environment,Value=production \
+    --region ${AWS_REGION} \
+    > /dev/null
+
+  aws rds wait db-instance-available \
+    --db-instance-identifier schoolday-db-replica \
+    --region ${AWS_REGION}
+
+  RDS_REPLICA_ENDPOINT=$(aws rds describe-db-instances \
+    --db-instance-identifier schoolday-db-replica \
+    --region ${AWS_REGION} \
+    --query 'DBInstances[0].Endpoint.Address' \
+    --output text)
+
+  echo "✓ Replica Endpoint: ${RDS_REPLICA_ENDPOINT}"
+fi
+
 # Append RDS info to resources file
 echo ""
 echo "Step 5: Saving RDS endpoint..."
@@ -108,6 +138,7 @@ cat >> ${RESOURCES_FILE} <<EOF
 export RDS_ENDPOINT="${RDS_ENDPOINT}"
 export RDS_PORT="3306"
 export RDS_DATABASE="schoolday"
+export RDS_REPLICA_ENDPOINT="${RDS_REPLICA_ENDPOINT}"
 EOF
 
 echo "✓ RDS info appended to ${RESOURCES_FILE}"
@@ -123,6 +154,9 @@ echo "  Endpoint: ${RDS_ENDPOINT}"
 echo "  Port: 3306"
 echo "  Database: schoolday"
 echo "  Multi-AZ: ${MULTI_AZ}"
+if [ -n "${RDS_REPLICA_ENDPOINT}" ]; then
+  echo "  Replica Endpoint: ${RDS_REPLICA_ENDPOINT}"
+fi
 echo ""
 echo "IMPORTANT: You need to initialize the database schema."
 echo "See the documentation for schema initialization steps."
@@ -1,7 +1,177 @@
 package com.school.authentication;
 
+import com.school.feature.users.dao.IUserSessionRepository;
+import com.school.feature.users.entity.UserSession;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Issues client tokens for validated sessions and resolves presented tokens back to an {@link AuthenticatedUser}.
+ * In {@link TokenMode#OPAQUE} mode the token is the {@code user_session} key and is resolved through the
+ * {@link SessionCache}; in {@link TokenMode#SIGNED} mode it is verified in memory and only checked against the
+ * {@link TokenRevocationList}.
+ * <p>
+ * Opaque sessions expire after {@code auth.session.idle-ttl} without use or {@code auth.session.absolute-ttl} after
+ * login, whichever comes first. {@code last_accessed} is written at most once per {@code auth.session.touch-interval}
+ * so that the request path does not update the row on every call. Signed tokens carry no server-side access time,
+ * so the idle TTL does not apply to them; they are only bounded by their expiry, which never goes past the absolute
+ * TTL.
+ */
 @Service
+@Slf4j
 public class AuthService {
+
+    private final IUserSessionRepository userSessionRepository;
+    private final SessionCache sessionCache;
+    private final SessionTokenCodec sessionTokenCodec;
+    private final TokenRevocationList tokenRevocationList;
+    private final PermissionPolicy permissionPolicy;
+    private final TokenMode tokenMode;
+    private final Duration tokenTtl;
+    private final Duration idleTtl;
+    private final Duration absoluteTtl;
+    private final Duration touchInterval;
+
+    public AuthService(IUserSessionRepository userSessionRepository,
+                       SessionCache sessionCache,
+                       SessionTokenCodec sessionTokenCodec,
+                       TokenRevocationList tokenRevocationList,
+                       PermissionPolicy permissionPolicy,
+                       @Value("${auth.token.mode:opaque}") TokenMode tokenMode,
+                       @Value("${auth.token.ttl:12h}") Duration tokenTtl,
+                       @Value("${auth.session.idle-ttl:30m}") Duration idleTtl,
+                       @Value("${auth.session.absolute-ttl:12h}") Duration absoluteTtl,
+                       @Value("${auth.session.touch-interval:1m}") Duration touchInterval) {
+        this.userSessionRepository = userSessionRepository;
+        this.sessionCache = sessionCache;
+        this.sessionTokenCodec = sessionTokenCodec;
+        this.tokenRevocationList = tokenRevocationList;
+        this.permissionPolicy = permissionPolicy;
+        this.tokenMode = tokenMode;
+        this.tokenTtl = tokenTtl;
+        this.idleTtl = idleTtl;
+        this.absoluteTtl = absoluteTtl;
+        this.touchInterval = touchInterval;
+    }
+
+    /**
+     * Returns the token to hand to the client for the given session. The session's user must have its roles loaded.
+     */
+    public String issueToken(UserSession userSession) {
+        if (tokenMode == TokenMode.OPAQUE) {
+            return userSession.getToken();
+        }
+        final var now = Instant.now();
+        var expiresAt = now.plus(tokenTtl);
+        if (userSession.getCreated() != null && userSession.getCreated().plus(absoluteTtl).isBefore(expiresAt)) {
+            expiresAt = userSession.getCreated().plus(absoluteTtl);
+        }
+        return sessionTokenCodec.encode(SessionClaims.builder()
+                .tokenId(userSession.getToken())
+                .userId(userSession.getUser().getId())
+                .roles(RoleBits.of(userSession.getUser().getUserRoles()))
+                .issuedAt(now)
+                .expiresAt(expiresAt)
+                .build());
+    }
+
+    public Optional<AuthenticatedUser> authenticate(String token) {
+        if (tokenMode == TokenMode.SIGNED) {
+            return sessionTokenCodec.decode(token)
+                    .filter(claims -> claims.getExpiresAt().isAfter(Instant.now()))
+                    .filter(claims -> !tokenRevocationList.isRevoked(claims))
+                    .map(claims -> AuthenticatedUser.from(claims, permissionPolicy));
+        }
+
+        final var now = Instant.now();
+        final var userSession = sessionCache.get(token, userSessionRepository::findByToken)
+                .filter(UserSession::isActive)
+                .orElse(null);
+        if (userSession == null) {
+            return Optional.empty();
+        }
+        if (isExpired(userSession, now)) {
+            // Left for the sweeper to deactivate; the cached entry is kept so repeated calls stay in memory
+            return Optional.empty();
+        }
+        touch(userSession, now);
+        return Optional.of(AuthenticatedUser.from(userSession, permissionPolicy));
+    }
+
+    public boolean isExpired(UserSession userSession, Instant now) {
+        return (userSession.getCreated() != null && userSession.getCreated().plus(absoluteTtl).isBefore(now))
+                || (tokenMode == TokenMode.OPAQUE
+                && userSession.getLastAccessed() != null && userSession.getLastAccessed().plus(idleTtl).isBefore(now));
+    }
+
+    private void touch(UserSession userSession, Instant now) {
+        final var lastAccessed = userSession.getLastAccessed();
+        if (lastAccessed != null && lastAccessed.plus(touchInterval).isAfter(now)) {
+            return;
+        }
+        // Bookkeeping rather than a change of the user's, so it must not pin their reads to the primary
+        AuthenticationContext.withoutUser(() -> userSessionRepository.touch(userSession.getToken(), now));
+        // The cached copy is shared between requests, so later ones see the new access time without a reload
+        userSession.setLastAccessed(now);
+    }
+
+    /**
+     * Maps a client token to the {@code user_session} primary key it refers to. Expired signed tokens still map, so
+     * that they can be logged out.
+     */
+    public Optional<String> sessionToken(String token) {
+        if (tokenMode == TokenMode.SIGNED) {
+            return sessionTokenCodec.decode(token).map(SessionClaims::getTokenId);
+        }
+        return Optional.of(token);
+    }
+
+    /**
+     * Drops any in-memory state for a session that has just been deactivated, see {@link #purgeNowAndAfterCommit}.
+     */
+    public void revoke(String sessionToken) {
+        purgeNowAndAfterCommit(() -> {
+            sessionCache.invalidate(sessionToken);
+            if (tokenMode == TokenMode.SIGNED) {
+                tokenRevocationList.revoke(sessionToken);
+            }
+        });
+    }
+
+    /**
+     * Drops any in-memory state for every session of a user whose sessions were deactivated at {@code revokedAt},
+     * see {@link #purgeNowAndAfterCommit}.
+     */
+    public void revokeUser(String userId, Instant revokedAt) {
+        purgeNowAndAfterCommit(() -> {
+            sessionCache.invalidateUser(userId);
+            if (tokenMode == TokenMode.SIGNED) {
+                tokenRevocationList.revokeUser(userId, revokedAt);
+            }
+        });
+    }
+
+    /**
+     * Runs the purge now and, inside a transaction, again once it has committed: until then the deactivated rows are
+     * still active to other connections, so a concurrent request could load one back into the cache and keep it for
+     * the cache's whole TTL.
+     */
+    private static void purgeNowAndAfterCommit(Runnable purge) {
+        purge.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    purge.run();
+                }
+            });
+        }
+    }
 }
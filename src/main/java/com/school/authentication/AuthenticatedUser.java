@@ -0,0 +1,52 @@
+package com.school.authentication;
+
+import com.school.feature.users.entity.UserSession;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Immutable principal resolved by the {@link AuthenticationFilter} for the current request. It is kept as a
+ * request attribute rather than in a servlet session, so no JSESSIONID or container session is ever created.
+ * Its permissions are compiled by the {@link PermissionPolicy} when the session is resolved, so authorization
+ * checks are bit tests.
+ */
+@Value
+@Builder
+public class AuthenticatedUser {
+
+    String id;
+    String token;
+    int roles;
+    @Builder.Default
+    PermissionSet permissions = PermissionSet.NONE;
+
+    public boolean hasRole(int roleBit) {
+        return (roles & roleBit) != 0;
+    }
+
+    public boolean hasPermission(Permission permission) {
+        return permissions.contains(permission);
+    }
+
+    /**
+     * Builds the principal from a session whose user roles have been fetched.
+     */
+    public static AuthenticatedUser from(UserSession userSession, PermissionPolicy permissionPolicy) {
+        final var roles = RoleBits.of(userSession.getUser().getUserRoles());
+        return AuthenticatedUser.builder()
+                .id(userSession.getUser().getId())
+                .token(userSession.getToken())
+                .roles(roles)
+                .permissions(permissionPolicy.permissionsFor(roles))
+                .build();
+    }
+
+    public static AuthenticatedUser from(SessionClaims claims, PermissionPolicy permissionPolicy) {
+        return AuthenticatedUser.builder()
+                .id(claims.getUserId())
+                .token(claims.getTokenId())
+                .roles(claims.getRoles())
+                .permissions(permissionPolicy.permissionsFor(claims.getRoles()))
+                .build();
+    }
+}
@@ -0,0 +1,43 @@
+package com.school.authentication;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.Optional;
+
+/**
+ * Holds the {@link AuthenticatedUser} resolved by the {@link AuthenticationFilter} for the request being handled on
+ * the current thread, so that code below the controllers can reach the caller, with roles and permissions already
+ * compiled, without reloading the user. Work handed to other threads does not inherit it.
+ */
+@UtilityClass
+public class AuthenticationContext {
+
+    private static final ThreadLocal<AuthenticatedUser> CURRENT = new ThreadLocal<>();
+
+    public static Optional<AuthenticatedUser> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    static void set(AuthenticatedUser authenticatedUser) {
+        CURRENT.set(authenticatedUser);
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Runs {@code action} with no user bound, for writes made on the user's behalf that are not their own changes.
+     */
+    static void withoutUser(Runnable action) {
+        final var authenticatedUser = CURRENT.get();
+        CURRENT.remove();
+        try {
+            action.run();
+        } finally {
+            if (authenticatedUser != null) {
+                CURRENT.set(authenticatedUser);
+            }
+        }
+    }
+}
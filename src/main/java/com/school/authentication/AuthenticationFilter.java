@@ -2,7 +2,7 @@ package com.school.authentication;
 
 import com.school.exceptions.AuthorizationException;
 import com.school.feature.users.dao.IUserRepository;
-import com.school.feature.users.dao.IUserSessionRepository;
+import com.school.web.utils.SessionUtils;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.ServletRequest;
@@ -23,14 +23,14 @@ import java.io.IOException;
 @RequiredArgsConstructor
 public class AuthenticationFilter extends GenericFilterBean {
 
-    private final IUserSessionRepository userSessionRepository;
+    private final AuthService authService;
 
     @Override
     public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse, FilterChain filterChain) throws IOException, ServletException {
         HttpServletRequest request = (HttpServletRequest) servletRequest;
         HttpServletResponse response = (HttpServletResponse) servletResponse;
         final var path = request.getRequestURI();
-        if (path.contains("/login")) {
+        if (path.contains("/login") || path.equals("/actuator/health")) {
             filterChain.doFilter(request, response);
             return;
         }
@@ -43,15 +43,19 @@ public class AuthenticationFilter extends GenericFilterBean {
 
         final var token = authHeader.replace("Bearer ", "");
 
-        final var userSession = userSessionRepository.findById(token).orElse(null);
+        final var authenticatedUser = authService.authenticate(token).orElse(null);
 
-        if (userSession == null || !userSession.isActive()) {
+        if (authenticatedUser == null) {
             response.sendError(HttpServletResponse.SC_UNAUTHORIZED);
             return;
         }
 
-        final var httpSession = request.getSession();
-        httpSession.setAttribute("userSession", userSession);
-        filterChain.doFilter(request, response);
+        SessionUtils.setUser(request, authenticatedUser);
+        AuthenticationContext.set(authenticatedUser);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            AuthenticationContext.clear();
+        }
     }
 }
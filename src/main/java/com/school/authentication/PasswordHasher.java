@@ -0,0 +1,168 @@
+package com.school.authentication;
+
+import com.school.exceptions.ServiceUnavailableException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+import org.springframework.stereotype.Service;
+import org.springframework.util.CustomizableThreadCreator;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs BCrypt on a small dedicated pool so that a burst of logins cannot take every request thread's CPU time.
+ * When the pool and its queue are full the caller is told to retry instead of queueing without bound.
+ * New hashes use {@code auth.bcrypt.cost}; hashes stored with a different cost are reported by
+ * {@link #needsRehash(String)} so they can be upgraded on the next successful login.
+ * Bulk onboarding hashes on a second pool of {@code auth.bcrypt.bulk-pool-size} threads, so an import uses a bounded
+ * share of the CPU and never queues ahead of logins.
+ */
+@Service
+@Slf4j
+public class PasswordHasher implements MeterBinder, DisposableBean {
+
+    private static final String METRIC_NAME = "auth.bcrypt";
+    private static final String BULK_METRIC_NAME = "auth.bcrypt.bulk";
+
+    private final ThreadPoolExecutor executor;
+    private final ThreadPoolExecutor bulkExecutor;
+    private final int cost;
+    private final Duration timeout;
+    private final long retryAfterSeconds;
+    private final AtomicLong rejected = new AtomicLong();
+
+    public PasswordHasher(@Value("${auth.bcrypt.pool-size:2}") int poolSize,
+                          @Value("${auth.bcrypt.queue-capacity:64}") int queueCapacity,
+                          @Value("${auth.bcrypt.timeout:5s}") Duration timeout,
+                          @Value("${auth.bcrypt.retry-after:2s}") Duration retryAfter,
+                          @Value("${auth.bcrypt.cost:10}") int cost,
+                          @Value("${auth.bcrypt.bulk-pool-size:2}") int bulkPoolSize) {
+        final var threadCreator = new CustomizableThreadCreator("bcrypt-");
+        threadCreator.setDaemon(true);
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadCreator::createThread, new ThreadPoolExecutor.AbortPolicy());
+        final var bulkThreadCreator = new CustomizableThreadCreator("bcrypt-bulk-");
+        bulkThreadCreator.setDaemon(true);
+        // Callers bound the number of queued passwords (one import chunk each)
+        this.bulkExecutor = new ThreadPoolExecutor(bulkPoolSize, bulkPoolSize, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), bulkThreadCreator::createThread);
+        this.cost = cost;
+        this.timeout = timeout;
+        this.retryAfterSeconds = Math.max(1, retryAfter.toSeconds());
+        log.info("BCrypt executor configured with poolSize={}, queueCapacity={}, cost={}, bulkPoolSize={}",
+                poolSize, queueCapacity, cost, bulkPoolSize);
+    }
+
+    public boolean matches(String password, String hash) throws ServiceUnavailableException {
+        return run(() -> BCrypt.checkpw(password, hash));
+    }
+
+    public String hash(String password) throws ServiceUnavailableException {
+        return run(() -> BCrypt.hashpw(password, BCrypt.gensalt(cost)));
+    }
+
+    /**
+     * Hashes the passwords in parallel on the bulk pool and returns the hashes in the same order. There is no
+     * timeout: the wait is bounded by the number of passwords, which the caller limits.
+     */
+    public List<String> hashAll(List<String> passwords) {
+        final List<Future<String>> futures = new ArrayList<>(passwords.size());
+        for (final var password : passwords) {
+            futures.add(bulkExecutor.submit(() -> BCrypt.hashpw(password, BCrypt.gensalt(cost))));
+        }
+        final List<String> hashes = new ArrayList<>(passwords.size());
+        try {
+            for (final var future : futures) {
+                hashes.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing passwords", e);
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+        return hashes;
+    }
+
+    public boolean needsRehash(String hash) {
+        return costOf(hash) != cost;
+    }
+
+    /**
+     * Reads the log2 cost out of a {@code $2a$NN$...} modular crypt string, or -1 if it is not a BCrypt hash.
+     */
+    static int costOf(String hash) {
+        if (hash == null || hash.length() < 7 || !hash.startsWith("$2") || hash.charAt(3) != '$') {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(hash, 4, 6, 10);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private <T> T run(Callable<T> task) throws ServiceUnavailableException {
+        final Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            throw new ServiceUnavailableException("Too many concurrent logins", retryAfterSeconds, e);
+        }
+
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new ServiceUnavailableException("Timed out waiting for password verification", retryAfterSeconds, e);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Interrupted while verifying password", retryAfterSeconds, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        new ExecutorServiceMetrics(executor, METRIC_NAME, Tags.empty()).bindTo(registry);
+        FunctionCounter.builder(METRIC_NAME + ".rejected", rejected, AtomicLong::get)
+                .description("Password verifications refused because the BCrypt queue was full")
+                .register(registry);
+        new ExecutorServiceMetrics(bulkExecutor, BULK_METRIC_NAME, Tags.empty()).bindTo(registry);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+        bulkExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,37 @@
+package com.school.authentication;
+
+/**
+ * Permissions that can be granted to a role through {@code role.permissions}, a comma separated list of these
+ * names. The ADMIN role is granted every permission regardless of its column. At most 64 constants are supported
+ * because a {@link PermissionSet} is a single {@code long}.
+ */
+public enum Permission {
+    /**
+     * Create parent and other user accounts.
+     */
+    CREATE_USER,
+    /**
+     * Manage the children linked to the caller.
+     */
+    MANAGE_CHILD,
+    /**
+     * Register a new child and link it to its parents.
+     */
+    ADD_CHILD,
+    /**
+     * View any child, not only the caller's own.
+     */
+    VIEW_ALL_CHILDREN,
+    /**
+     * Disable user accounts and revoke the sessions of any user.
+     */
+    DISABLE_USER,
+    /**
+     * Record the daily reports of children.
+     */
+    SUBMIT_DAILY_REPORT,
+    /**
+     * Rebuild the monthly report rollups of a month from its daily reports.
+     */
+    REBUILD_MONTHLY_REPORTS
+}
@@ -0,0 +1,60 @@
+package com.school.authentication;
+
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+
+/**
+ * Enforces {@link RequiresPermission} with a bit test on the caller's compiled permissions. It runs before the
+ * transaction advice, so a denied call never opens a transaction.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@Slf4j
+public class PermissionAspect {
+
+    @Around("@annotation(com.school.authentication.RequiresPermission)")
+    public Object authorize(ProceedingJoinPoint joinPoint) throws Throwable {
+        final var requiresPermission = AnnotationUtils.findAnnotation(
+                ((MethodSignature) joinPoint.getSignature()).getMethod(), RequiresPermission.class);
+        final var args = joinPoint.getArgs();
+        final var loggedInUser = Arrays.stream(args)
+                .filter(AuthenticatedUser.class::isInstance)
+                .map(AuthenticatedUser.class::cast)
+                .findFirst()
+                .or(AuthenticationContext::current)
+                .orElseThrow(() -> new IllegalStateException(
+                        joinPoint.getSignature().toShortString() + " called without an authenticated user"));
+
+        if (loggedInUser.hasPermission(requiresPermission.value()) || isOwner(joinPoint, requiresPermission, loggedInUser)) {
+            return joinPoint.proceed();
+        }
+        log.debug("User {} denied {} on {}", loggedInUser.getId(), requiresPermission.value(),
+                joinPoint.getSignature().toShortString());
+        return null;
+    }
+
+    private static boolean isOwner(ProceedingJoinPoint joinPoint, RequiresPermission requiresPermission,
+                                   AuthenticatedUser loggedInUser) {
+        if (requiresPermission.ownerParam().isEmpty()) {
+            return false;
+        }
+        final var parameterNames = ((MethodSignature) joinPoint.getSignature()).getParameterNames();
+        for (int i = 0; i < parameterNames.length; i++) {
+            if (parameterNames[i].equals(requiresPermission.ownerParam())) {
+                return loggedInUser.getId().equals(joinPoint.getArgs()[i]);
+            }
+        }
+        throw new IllegalStateException(joinPoint.getSignature().toShortString() + " has no parameter named "
+                + requiresPermission.ownerParam());
+    }
+}
@@ -0,0 +1,107 @@
+package com.school.authentication;
+
+import com.school.feature.users.dao.IRoleRepository;
+import com.school.feature.users.dao.RoleVersion;
+import com.school.feature.users.entity.Role;
+import com.school.feature.users.entity.UserRoleStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.util.Objects;
+
+/**
+ * Compiles {@code role.permissions} into a {@link PermissionSet} for every combination of {@link RoleBits}, so a
+ * principal's permissions are a single array lookup when its session is resolved. Roles are read on first use and
+ * re-read whenever {@link #refresh()} sees that {@code role.updated} or the number of roles has changed, so edits
+ * take effect on every instance within {@code auth.permissions.refresh} without a restart. A detected change also
+ * drops the second-level cache for roles, since such edits are usually made in SQL behind Hibernate's back.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PermissionPolicy {
+
+    private final IRoleRepository roleRepository;
+    private volatile Compiled compiled;
+
+    public PermissionSet permissionsFor(int roleBits) {
+        var current = compiled;
+        if (current == null) {
+            current = load(null);
+        }
+        return current.permissionsByRoleBits()[roleBits & RoleBits.ALL];
+    }
+
+    @Scheduled(fixedDelayString = "${auth.permissions.refresh:PT30S}")
+    public void refresh() {
+        final var current = compiled;
+        if (current == null) {
+            return;
+        }
+        if (!Objects.equals(current.version(), roleRepository.findVersion())) {
+            load(current);
+        }
+    }
+
+    private synchronized Compiled load(Compiled stale) {
+        if (compiled != stale) {
+            return compiled;
+        }
+        if (stale != null) {
+            roleRepository.evictRoleCache();
+        }
+        // Read the version first so that an edit racing with the load is picked up by the next refresh
+        final var version = roleRepository.findVersion();
+        final var byRole = new PermissionSet[RoleBits.ALL + 1];
+        for (Role role : roleRepository.findAll()) {
+            final var roleBit = RoleBits.of(role.getName());
+            if (roleBit == 0) {
+                log.warn("Ignoring permissions of role {} which has no role bit", role.getName());
+                continue;
+            }
+            byRole[roleBit] = compile(role);
+        }
+
+        final var table = new PermissionSet[RoleBits.ALL + 1];
+        for (int roleBits = 0; roleBits <= RoleBits.ALL; roleBits++) {
+            var permissions = PermissionSet.NONE;
+            for (int bit = 1; bit <= RoleBits.ALL; bit <<= 1) {
+                if ((roleBits & bit) != 0 && byRole[bit] != null) {
+                    permissions = permissions.union(byRole[bit]);
+                }
+            }
+            table[roleBits] = permissions;
+        }
+        compiled = new Compiled(version, table);
+        log.info("Loaded permission policy: ADMIN={}, TEACHER={}, PARENT={}",
+                table[RoleBits.ADMIN], table[RoleBits.TEACHER], table[RoleBits.PARENT]);
+        return compiled;
+    }
+
+    private static PermissionSet compile(Role role) {
+        if (role.getStatus() != UserRoleStatus.ENABLED) {
+            return PermissionSet.NONE;
+        }
+        if ("ADMIN".equals(role.getName())) {
+            return PermissionSet.ALL;
+        }
+        var permissions = PermissionSet.NONE;
+        if (!StringUtils.hasText(role.getPermissions())) {
+            return permissions;
+        }
+        for (String name : StringUtils.commaDelimitedListToStringArray(role.getPermissions())) {
+            try {
+                permissions = permissions.union(PermissionSet.of(Permission.valueOf(name.trim())));
+            } catch (IllegalArgumentException e) {
+                log.warn("Ignoring unknown permission {} on role {}", name.trim(), role.getName());
+            }
+        }
+        return permissions;
+    }
+
+    private record Compiled(RoleVersion version, PermissionSet[] permissionsByRoleBits) {
+    }
+}
@@ -0,0 +1,55 @@
+package com.school.authentication;
+
+import lombok.EqualsAndHashCode;
+
+import java.util.EnumSet;
+
+/**
+ * Immutable set of {@link Permission}s packed into a {@code long}, so a check is a single bit test.
+ */
+@EqualsAndHashCode
+public final class PermissionSet {
+
+    public static final PermissionSet NONE = new PermissionSet(0L);
+    public static final PermissionSet ALL = of(Permission.values());
+
+    private final long bits;
+
+    private PermissionSet(long bits) {
+        this.bits = bits;
+    }
+
+    public static PermissionSet of(Permission... permissions) {
+        long bits = 0L;
+        for (Permission permission : permissions) {
+            bits |= bit(permission);
+        }
+        return new PermissionSet(bits);
+    }
+
+    public boolean contains(Permission permission) {
+        return (bits & bit(permission)) != 0;
+    }
+
+    public PermissionSet union(PermissionSet other) {
+        if ((bits | other.bits) == bits) {
+            return this;
+        }
+        return new PermissionSet(bits | other.bits);
+    }
+
+    @Override
+    public String toString() {
+        final var permissions = EnumSet.noneOf(Permission.class);
+        for (Permission permission : Permission.values()) {
+            if (contains(permission)) {
+                permissions.add(permission);
+            }
+        }
+        return permissions.toString();
+    }
+
+    private static long bit(Permission permission) {
+        return 1L << permission.ordinal();
+    }
+}
@@ -0,0 +1,26 @@
+package com.school.authentication;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Guards a service method. The caller is the method's {@link AuthenticatedUser} argument, or else the one in the
+ * {@link AuthenticationContext}. When the caller lacks the permission the method is not invoked and {@code null} is
+ * returned, which the controllers map to 401.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RequiresPermission {
+
+    Permission value();
+
+    /**
+     * Name of a parameter holding a user id. A caller whose id equals it is let through without the permission, for
+     * endpoints where users may always act on their own data.
+     */
+    String ownerParam() default "";
+}
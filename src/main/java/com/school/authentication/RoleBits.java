@@ -0,0 +1,39 @@
+package com.school.authentication;
+
+import com.school.feature.users.entity.UserRole;
+import lombok.experimental.UtilityClass;
+
+import java.util.Collection;
+
+/**
+ * Fixed bit positions for the built-in roles so that they can be carried in a signed token and tested without
+ * touching the role entities.
+ */
+@UtilityClass
+public class RoleBits {
+
+    public static final int ADMIN = 1;
+    public static final int TEACHER = 1 << 1;
+    public static final int PARENT = 1 << 2;
+    public static final int ALL = ADMIN | TEACHER | PARENT;
+
+    public static int of(String roleName) {
+        return switch (roleName) {
+            case "ADMIN" -> ADMIN;
+            case "TEACHER" -> TEACHER;
+            case "PARENT" -> PARENT;
+            default -> 0;
+        };
+    }
+
+    public static int of(Collection<UserRole> userRoles) {
+        if (userRoles == null) {
+            return 0;
+        }
+        int bits = 0;
+        for (UserRole userRole : userRoles) {
+            bits |= of(userRole.getRole().getName());
+        }
+        return bits;
+    }
+}
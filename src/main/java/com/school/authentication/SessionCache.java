@@ -0,0 +1,84 @@
+package com.school.authentication;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.school.feature.users.entity.UserSession;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Bounded in-process cache of token -> {@link UserSession} lookups used by the {@link AuthenticationFilter}.
+ * Unknown tokens are cached as empty entries with a shorter TTL so that repeated bad tokens do not hit MySQL.
+ * Entries are not shared between instances, so a logout handled by another task is only seen here once the
+ * entry expires; keep the TTL short.
+ */
+@Service
+@Slf4j
+public class SessionCache implements MeterBinder {
+
+    private final Cache<String, Optional<UserSession>> cache;
+
+    public SessionCache(@Value("${auth.session-cache.maximum-size:10000}") long maximumSize,
+                        @Value("${auth.session-cache.ttl:60s}") Duration ttl,
+                        @Value("${auth.session-cache.negative-ttl:10s}") Duration negativeTtl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new SessionExpiry(ttl, negativeTtl))
+                .recordStats()
+                .build();
+        log.info("Session cache configured with maximumSize={}, ttl={}, negativeTtl={}", maximumSize, ttl, negativeTtl);
+    }
+
+    public Optional<UserSession> get(String token, Function<String, Optional<UserSession>> loader) {
+        return cache.get(token, loader);
+    }
+
+    public void invalidate(String token) {
+        cache.invalidate(token);
+    }
+
+    /**
+     * Drops every cached session of the user. Scans the cache, which is bounded by {@code maximumSize}.
+     */
+    public void invalidateUser(String userId) {
+        cache.asMap().values().removeIf(session -> session
+                .filter(userSession -> userId.equals(userSession.getUser().getId()))
+                .isPresent());
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "auth.sessions");
+    }
+
+    private record SessionExpiry(Duration ttl, Duration negativeTtl) implements Expiry<String, Optional<UserSession>> {
+
+        @Override
+        public long expireAfterCreate(String token, Optional<UserSession> session, long currentTime) {
+            return session.isPresent() ? ttl.toNanos() : negativeTtl.toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, Optional<UserSession> session, long currentTime, long currentDuration) {
+            return expireAfterCreate(token, session, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String token, Optional<UserSession> session, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.school.authentication;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Instant;
+
+/**
+ * Contents of a signed session token. {@code tokenId} is the primary key of the backing {@code user_session} row.
+ * {@code issuedAt} is kept to the millisecond so that it can be compared with a user's revocation watermark, see
+ * {@link TokenRevocationList}; {@code expiresAt} to the second.
+ */
+@Value
+@Builder
+public class SessionClaims {
+
+    String tokenId;
+    String userId;
+    int roles;
+    Instant issuedAt;
+    Instant expiresAt;
+}
@@ -0,0 +1,95 @@
+package com.school.authentication;
+
+import com.school.feature.users.dao.IUserSessionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Deactivates expired sessions and later deletes inactive ones. Both passes walk {@code user_session} in token order
+ * and touch at most {@code auth.session.sweep-batch-size} rows per statement, each batch in its own transaction, so
+ * row locks are held only briefly on the table that every authenticated request reads. Inactive rows are kept for
+ * {@code auth.session.retention}, and never less than {@code auth.token.ttl}, so that other instances can still pick
+ * them up into their {@link TokenRevocationList}. In {@link TokenMode#SIGNED} mode {@code last_accessed} is never
+ * written after login, so only the absolute TTL is applied.
+ */
+@Service
+@Slf4j
+public class SessionSweeper {
+
+    private final IUserSessionRepository userSessionRepository;
+    private final AuthService authService;
+    private final TokenMode tokenMode;
+    private final Duration idleTtl;
+    private final Duration absoluteTtl;
+    private final Duration retention;
+    private final int batchSize;
+
+    public SessionSweeper(IUserSessionRepository userSessionRepository,
+                          AuthService authService,
+                          @Value("${auth.token.mode:opaque}") TokenMode tokenMode,
+                          @Value("${auth.session.idle-ttl:30m}") Duration idleTtl,
+                          @Value("${auth.session.absolute-ttl:12h}") Duration absoluteTtl,
+                          @Value("${auth.session.retention:24h}") Duration retention,
+                          @Value("${auth.token.ttl:12h}") Duration tokenTtl,
+                          @Value("${auth.session.sweep-batch-size:500}") int batchSize) {
+        this.userSessionRepository = userSessionRepository;
+        this.authService = authService;
+        this.tokenMode = tokenMode;
+        this.idleTtl = idleTtl;
+        this.absoluteTtl = absoluteTtl;
+        this.retention = retention.compareTo(tokenTtl) < 0 ? tokenTtl : retention;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${auth.session.sweep-interval:PT5M}", initialDelayString = "${auth.session.sweep-interval:PT5M}")
+    public void sweep() {
+        final var now = Instant.now();
+        final var deactivated = deactivateExpired(now);
+        final var purged = purgeInactive(now);
+        if (deactivated > 0 || purged > 0) {
+            log.info("Session sweep deactivated {} and purged {} sessions", deactivated, purged);
+        }
+    }
+
+    int deactivateExpired(Instant now) {
+        // No session was last used before the epoch, so the idle condition never matches for signed tokens
+        final var idleCutoff = tokenMode == TokenMode.SIGNED ? Instant.EPOCH : now.minus(idleTtl);
+        final var absoluteCutoff = now.minus(absoluteTtl);
+        var total = 0;
+        var after = "";
+        List<String> tokens;
+        do {
+            tokens = userSessionRepository.findExpiredTokens(after, idleCutoff, absoluteCutoff, Limit.of(batchSize));
+            if (tokens.isEmpty()) {
+                break;
+            }
+            total += userSessionRepository.deactivateExpired(tokens, idleCutoff, absoluteCutoff, now);
+            tokens.forEach(authService::revoke);
+            after = tokens.get(tokens.size() - 1);
+        } while (tokens.size() == batchSize);
+        return total;
+    }
+
+    int purgeInactive(Instant now) {
+        final var cutoff = now.minus(retention);
+        var total = 0;
+        var after = "";
+        List<String> tokens;
+        do {
+            tokens = userSessionRepository.findPurgeableTokens(after, cutoff, Limit.of(batchSize));
+            if (tokens.isEmpty()) {
+                break;
+            }
+            total += userSessionRepository.deleteInactive(tokens);
+            after = tokens.get(tokens.size() - 1);
+        } while (tokens.size() == batchSize);
+        return total;
+    }
+}
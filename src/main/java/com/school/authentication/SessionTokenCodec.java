@@ -0,0 +1,108 @@
+package com.school.authentication;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Encodes and verifies HMAC-SHA256 signed session tokens of the form {@code base64url(claims).base64url(mac)}.
+ * Only used when {@code auth.token.mode=signed}.
+ */
+@Service
+@Slf4j
+public class SessionTokenCodec {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final String VERSION = "v2";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+    private final ThreadLocal<Mac> macs;
+
+    public SessionTokenCodec(@Value("${auth.token.mode:opaque}") TokenMode tokenMode,
+                             @Value("${auth.token.signing-key:}") String signingKey) {
+        if (tokenMode != TokenMode.SIGNED) {
+            this.key = null;
+            this.macs = null;
+            return;
+        }
+        if (!StringUtils.hasText(signingKey)) {
+            throw new IllegalStateException("auth.token.signing-key is required when auth.token.mode=signed");
+        }
+        final var keyBytes = Base64.getDecoder().decode(signingKey);
+        if (keyBytes.length < 32) {
+            throw new IllegalStateException("auth.token.signing-key must be at least 256 bits");
+        }
+        this.key = new SecretKeySpec(keyBytes, ALGORITHM);
+        this.macs = ThreadLocal.withInitial(this::newMac);
+    }
+
+    public String encode(SessionClaims claims) {
+        final var payload = String.join("|", VERSION, claims.getTokenId(), claims.getUserId(),
+                Integer.toString(claims.getRoles()), Long.toString(claims.getIssuedAt().toEpochMilli()),
+                Long.toString(claims.getExpiresAt().getEpochSecond()));
+        final var payloadBytes = payload.getBytes(StandardCharsets.UTF_8);
+        return ENCODER.encodeToString(payloadBytes) + "." + ENCODER.encodeToString(sign(payloadBytes));
+    }
+
+    /**
+     * Returns the claims of a token whose signature is valid, whether or not it has expired.
+     */
+    public Optional<SessionClaims> decode(String token) {
+        final var separator = token.indexOf('.');
+        if (separator <= 0 || separator == token.length() - 1) {
+            return Optional.empty();
+        }
+
+        final byte[] payloadBytes;
+        final byte[] signature;
+        try {
+            payloadBytes = DECODER.decode(token.substring(0, separator));
+            signature = DECODER.decode(token.substring(separator + 1));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+
+        if (!MessageDigest.isEqual(sign(payloadBytes), signature)) {
+            return Optional.empty();
+        }
+
+        final var parts = new String(payloadBytes, StandardCharsets.UTF_8).split("\\|");
+        if (parts.length != 6 || !VERSION.equals(parts[0])) {
+            log.warn("Rejecting signed token with unsupported payload");
+            return Optional.empty();
+        }
+        return Optional.of(SessionClaims.builder()
+                .tokenId(parts[1])
+                .userId(parts[2])
+                .roles(Integer.parseInt(parts[3]))
+                .issuedAt(Instant.ofEpochMilli(Long.parseLong(parts[4])))
+                .expiresAt(Instant.ofEpochSecond(Long.parseLong(parts[5])))
+                .build());
+    }
+
+    private byte[] sign(byte[] payload) {
+        return macs.get().doFinal(payload);
+    }
+
+    private Mac newMac() {
+        try {
+            final var mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to initialise " + ALGORITHM, e);
+        }
+    }
+}
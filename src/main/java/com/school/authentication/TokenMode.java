@@ -0,0 +1,12 @@
+package com.school.authentication;
+
+public enum TokenMode {
+    /**
+     * Random token that is looked up in {@code user_session} on every request.
+     */
+    OPAQUE,
+    /**
+     * HMAC-signed token carrying the user id, role bits and expiry, verified in memory.
+     */
+    SIGNED
+}
@@ -0,0 +1,88 @@
+package com.school.authentication;
+
+import com.school.feature.users.dao.IUserSessionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory set of revoked signed-token ids. An id only needs to be remembered until every token that could carry
+ * it has expired, so entries are dropped after {@code auth.token.ttl}. The set is seeded from deactivated
+ * {@code user_session} rows at startup and topped up periodically so that logouts handled by other instances are
+ * honoured.
+ * <p>
+ * Revoking all sessions of a user records a watermark instead of the individual ids: until every token issued before
+ * it has expired, that user's tokens issued at or before the watermark are rejected. Issue times are kept to the
+ * millisecond, so a token issued in the same millisecond as the watermark is rejected too.
+ */
+@Service
+@Slf4j
+public class TokenRevocationList {
+
+    private final IUserSessionRepository userSessionRepository;
+    private final TokenMode tokenMode;
+    private final Duration tokenTtl;
+    private final ConcurrentHashMap<String, Instant> revoked = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Instant> revokedUsers = new ConcurrentHashMap<>();
+    private volatile Instant lastRefresh;
+
+    public TokenRevocationList(IUserSessionRepository userSessionRepository,
+                               @Value("${auth.token.mode:opaque}") TokenMode tokenMode,
+                               @Value("${auth.token.ttl:12h}") Duration tokenTtl) {
+        this.userSessionRepository = userSessionRepository;
+        this.tokenMode = tokenMode;
+        this.tokenTtl = tokenTtl;
+    }
+
+    public boolean isRevoked(SessionClaims claims) {
+        if (revoked.containsKey(claims.getTokenId())) {
+            return true;
+        }
+        final var watermark = revokedUsers.get(claims.getUserId());
+        return watermark != null && !claims.getIssuedAt().isAfter(watermark);
+    }
+
+    public void revoke(String tokenId) {
+        revoked.put(tokenId, Instant.now().plus(tokenTtl));
+    }
+
+    public void revokeUser(String userId, Instant revokedAt) {
+        revokedUsers.merge(userId, revokedAt, (previous, current) -> current.isAfter(previous) ? current : previous);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        if (tokenMode != TokenMode.SIGNED) {
+            return;
+        }
+        refreshSince(Instant.now().minus(tokenTtl));
+        log.info("Seeded token revocation list with {} entries", revoked.size());
+    }
+
+    @Scheduled(fixedDelayString = "${auth.token.revocation-refresh:PT30S}")
+    public void refresh() {
+        if (tokenMode != TokenMode.SIGNED || lastRefresh == null) {
+            return;
+        }
+        // Overlap with the previous window to tolerate clock skew between instances and the database
+        refreshSince(lastRefresh.minusSeconds(5));
+        final var now = Instant.now();
+        revoked.values().removeIf(expiresAt -> expiresAt.isBefore(now));
+        revokedUsers.values().removeIf(revokedAt -> revokedAt.plus(tokenTtl).isBefore(now));
+    }
+
+    private void refreshSince(Instant since) {
+        final var refreshStarted = Instant.now();
+        for (String tokenId : userSessionRepository.findInactiveTokensUpdatedSince(since)) {
+            revoke(tokenId);
+        }
+        lastRefresh = refreshStarted;
+    }
+}
@@ -0,0 +1,66 @@
+package com.school.config;
+
+import com.school.persistence.QueryMetricsFilter;
+import com.school.persistence.QueryMetricsListener;
+import com.school.persistence.RepositoryQueryMetricsAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Counts statements and rows per repository method and per request, see {@link QueryMetricsListener}. The
+ * {@code dataSource} bean is wrapped in a datasource-proxy; with a read replica that is the routing proxy, so
+ * statements on both pools are counted. Turned off with {@code jdbc.metrics.enabled=false}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "jdbc.metrics.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryMetricsConfig {
+
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+
+    @Bean
+    public QueryMetricsListener queryMetricsListener(MeterRegistry registry,
+                                                     @Value("${jdbc.metrics.slow-threshold:500ms}") Duration slowThreshold) {
+        return new QueryMetricsListener(registry, slowThreshold);
+    }
+
+    @Bean
+    public static BeanPostProcessor queryMetricsDataSourceWrapper(ObjectProvider<QueryMetricsListener> listener) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || !DATA_SOURCE_BEAN.equals(beanName)) {
+                    return bean;
+                }
+                final var metrics = listener.getObject();
+                return ProxyDataSourceBuilder.create(beanName, dataSource)
+                        .listener(metrics)
+                        .proxyResultSet(metrics.rowCountingResultSets())
+                        .build();
+            }
+        };
+    }
+
+    @Bean
+    public RepositoryQueryMetricsAspect repositoryQueryMetricsAspect(MeterRegistry registry) {
+        return new RepositoryQueryMetricsAspect(registry);
+    }
+
+    @Bean
+    public FilterRegistrationBean<QueryMetricsFilter> queryMetricsFilter(MeterRegistry registry) {
+        final var registration = new FilterRegistrationBean<>(new QueryMetricsFilter(registry));
+        // Inside the http.server.requests observation, outside authentication
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return registration;
+    }
+}
@@ -0,0 +1,77 @@
+package com.school.config;
+
+import com.school.authentication.AuthenticatedUser;
+import com.school.authentication.AuthenticationContext;
+import com.school.persistence.ReadWriteRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Adds a read replica when {@code spring.datasource.replica.url} is set. {@code spring.datasource.*} stays the
+ * primary; the replica takes {@code url}, {@code username} and {@code password} from
+ * {@code spring.datasource.replica.*}, falling back to the primary's credentials, and pool settings from
+ * {@code spring.datasource.replica.hikari.*}. Both are Hikari pools named {@code primary} and {@code replica}, so
+ * their metrics are reported separately.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.datasource.replica.url")
+@Slf4j
+public class ReplicaDataSourceConfig {
+
+    private static final String REPLICA_PREFIX = "spring.datasource.replica";
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        final var dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties(REPLICA_PREFIX + ".hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties primaryProperties, Environment environment) {
+        final var properties = Binder.get(environment).bind(REPLICA_PREFIX, DataSourceProperties.class).get();
+        if (!StringUtils.hasText(properties.getUsername())) {
+            properties.setUsername(primaryProperties.getUsername());
+            properties.setPassword(primaryProperties.getPassword());
+        }
+        if (!StringUtils.hasText(properties.getDriverClassName())) {
+            properties.setDriverClassName(primaryProperties.getDriverClassName());
+        }
+        final var dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReadWriteRoutingDataSource routingDataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                                        @Qualifier("replicaDataSource") DataSource replica,
+                                                        @Value("${" + REPLICA_PREFIX + ".read-your-writes:5s}") Duration readYourWrites) {
+        log.info("Routing read-only transactions to the replica, read-your-writes window {}", readYourWrites);
+        return new ReadWriteRoutingDataSource(primary, replica, readYourWrites,
+                () -> AuthenticationContext.current().map(AuthenticatedUser::getId));
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+}
@@ -0,0 +1,20 @@
+package com.school.feature.report.dao;
+
+import com.school.feature.report.entity.DailyReport;
+
+import java.util.List;
+
+public interface DailyReportUpsert {
+
+    /**
+     * Inserts the reports, replacing any existing report for the same child and date, as one JDBC batch. The
+     * reports' {@code child} and {@code reportedBy} only need ids, so references will do; ids, {@code created} and
+     * {@code updated} are assigned here, and a report that replaces another takes over its id and {@code created}.
+     * Runs in the caller's transaction, flushing it first, and bypasses the persistence context.
+     *
+     * @return the reports that were replaced, as they were before; their {@code child} only carries the id. They are
+     * read without locks, so the caller must already hold the children's rows
+     * ({@link com.school.feature.users.dao.IChildRepository#lockExistingIds}) and run at {@code READ COMMITTED}.
+     */
+    List<DailyReport> upsertAll(List<DailyReport> reports);
+}
@@ -0,0 +1,134 @@
+package com.school.feature.report.dao;
+
+import com.school.feature.report.entity.DailyReport;
+import com.school.feature.report.entity.Mood;
+import com.school.feature.users.entity.Child;
+import com.school.persistence.IdStorage;
+import com.school.persistence.UuidV7Generator;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@code INSERT ... ON DUPLICATE KEY UPDATE} on the {@code (child_id, report_date)} key. With
+ * {@code rewriteBatchedStatements} the driver sends the batch as one multi-row statement. {@code VALUES()} is used
+ * rather than a row alias so that the statement also runs on MariaDB. The reports being replaced are read first, in
+ * one query over the same key, and the reports that replace them take over their ids and {@code created}, which the
+ * update keeps. That read takes no locks: a {@code FOR UPDATE} there gap-locks every report that does
+ * not exist yet, and two first submissions for different children then deadlock on each other's inserts.
+ */
+@RequiredArgsConstructor
+class DailyReportUpsertImpl implements DailyReportUpsert {
+
+    private static final String UPSERT = "INSERT INTO daily_report"
+            + " (id, child_id, report_date, present, meals_eaten, nap_minutes, mood, notes, reported_by, created, updated)"
+            + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)"
+            + " ON DUPLICATE KEY UPDATE present = VALUES(present), meals_eaten = VALUES(meals_eaten),"
+            + " nap_minutes = VALUES(nap_minutes), mood = VALUES(mood), notes = VALUES(notes),"
+            + " reported_by = VALUES(reported_by), updated = VALUES(updated)";
+
+    private static final String FIND_EXISTING = "SELECT child_id, report_date, present, meals_eaten, nap_minutes, mood, notes, id, created"
+            + " FROM daily_report WHERE child_id IN (%s) AND report_date IN (%s)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+
+    @Override
+    public List<DailyReport> upsertAll(List<DailyReport> reports) {
+        if (reports.isEmpty()) {
+            return List.of();
+        }
+        // Children or users saved earlier in the transaction must reach the database before the foreign keys are checked
+        entityManager.flush();
+        final var replaced = findExisting(reports);
+        final Map<String, DailyReport> replacedByKey = new HashMap<>();
+        replaced.forEach(report -> replacedByKey.put(key(report), report));
+        final var now = Instant.now();
+        for (final var report : reports) {
+            final var previous = replacedByKey.get(key(report));
+            report.setId(previous == null ? UuidV7Generator.next() : previous.getId());
+            report.setCreated(previous == null ? now : previous.getCreated());
+            report.setUpdated(now);
+        }
+        final var ids = IdStorage.current();
+        jdbcTemplate.batchUpdate(UPSERT, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement statement, int i) throws SQLException {
+                final var report = reports.get(i);
+                statement.setObject(1, ids.toJdbc(report.getId()));
+                statement.setObject(2, ids.toJdbc(report.getChild().getId()));
+                statement.setDate(3, Date.valueOf(report.getReportDate()));
+                statement.setBoolean(4, report.isPresent());
+                statement.setInt(5, report.getMealsEaten());
+                statement.setInt(6, report.getNapMinutes());
+                if (report.getMood() == null) {
+                    statement.setNull(7, Types.VARCHAR);
+                } else {
+                    statement.setString(7, report.getMood().name());
+                }
+                statement.setString(8, report.getNotes());
+                statement.setObject(9, ids.toJdbc(report.getReportedBy().getId()));
+                statement.setTimestamp(10, Timestamp.from(report.getCreated()));
+                statement.setTimestamp(11, Timestamp.from(now));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return reports.size();
+            }
+        });
+        return replaced;
+    }
+
+    private List<DailyReport> findExisting(List<DailyReport> reports) {
+        final var ids = IdStorage.current();
+        final Set<String> childIds = new LinkedHashSet<>();
+        final Set<LocalDate> dates = new LinkedHashSet<>();
+        final Set<String> keys = new HashSet<>();
+        for (final var report : reports) {
+            childIds.add(report.getChild().getId());
+            dates.add(report.getReportDate());
+            keys.add(key(report));
+        }
+        final var sql = FIND_EXISTING.formatted(String.join(", ", Collections.nCopies(childIds.size(), "?")),
+                String.join(", ", Collections.nCopies(dates.size(), "?")));
+        final List<Object> args = new ArrayList<>(childIds.size() + dates.size());
+        childIds.forEach(childId -> args.add(ids.toJdbc(childId)));
+        dates.forEach(date -> args.add(Date.valueOf(date)));
+        final var existing = jdbcTemplate.query(sql, (rs, row) -> DailyReport.builder()
+                .child(Child.builder().id(ids.fromJdbc(rs.getObject(1))).build())
+                .reportDate(rs.getDate(2).toLocalDate())
+                .present(rs.getBoolean(3))
+                .mealsEaten(rs.getInt(4))
+                .napMinutes(rs.getInt(5))
+                .mood(rs.getString(6) == null ? null : Mood.valueOf(rs.getString(6)))
+                .notes(rs.getString(7))
+                .id(ids.fromJdbc(rs.getObject(8)))
+                .created(rs.getTimestamp(9).toInstant())
+                .build(), args.toArray());
+        // With several dates the query also matches pairs that were not submitted
+        existing.removeIf(report -> !keys.contains(key(report)));
+        return existing;
+    }
+
+    private static String key(DailyReport report) {
+        return report.getChild().getId() + "/" + report.getReportDate();
+    }
+}
@@ -0,0 +1,18 @@
+package com.school.feature.report.dao;
+
+import com.school.feature.report.entity.DailyReport;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+@Repository
+public interface IDailyReportRepository extends JpaRepository<DailyReport, String>, DailyReportUpsert {
+
+    @Query("select r from DailyReport r where r.child.id = :childId and r.reportDate = :reportDate")
+    Optional<DailyReport> findByChildIdAndReportDate(@Param("childId") String childId,
+                                                     @Param("reportDate") LocalDate reportDate);
+}
@@ -0,0 +1,29 @@
+package com.school.feature.report.dao;
+
+import com.school.feature.report.entity.MonthlyReport;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface IMonthlyReportRepository extends JpaRepository<MonthlyReport, String>, MonthlyReportRollup {
+
+    @Query("select r from MonthlyReport r where r.child.id = :childId and r.reportMonth = :reportMonth")
+    Optional<MonthlyReport> findByChildIdAndReportMonth(@Param("childId") String childId,
+                                                        @Param("reportMonth") LocalDate reportMonth);
+
+    @Query("select r from MonthlyReport r where r.child.id in :childIds and r.reportMonth = :reportMonth")
+    List<MonthlyReport> findByChildIdsAndReportMonth(@Param("childIds") Collection<String> childIds,
+                                                     @Param("reportMonth") LocalDate reportMonth);
+
+    @Modifying
+    @Query("delete from MonthlyReport r where r.id in :ids")
+    int deleteByIds(@Param("ids") Collection<String> ids);
+}
@@ -0,0 +1,28 @@
+package com.school.feature.report.dao;
+
+import com.school.feature.report.entity.MonthlyReport;
+
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.List;
+
+public interface MonthlyReportRollup {
+
+    /**
+     * Adds each row's counts, which may be negative, to the rollup of its child and month, creating the rollup when
+     * there is none, as one JDBC batch. Runs in the caller's transaction and bypasses the persistence context.
+     */
+    void addAll(List<MonthlyReport> deltas);
+
+    /**
+     * Overwrites the rollups of the rows' children and months with the rows' counts, creating them when missing, as
+     * one JDBC batch. Runs in the caller's transaction and bypasses the persistence context.
+     */
+    void replaceAll(List<MonthlyReport> totals);
+
+    /**
+     * Totals the daily reports of the children in the month, one row per child that has any. Nothing is locked: the
+     * caller holds the children's rows, so no submission can change their reports before the totals are written.
+     */
+    List<MonthlyReport> sumDailyReports(Collection<String> childIds, YearMonth month);
+}
@@ -0,0 +1,115 @@
+package com.school.feature.report.dao;
+
+import com.school.feature.report.entity.MonthlyReport;
+import com.school.feature.users.entity.Child;
+import com.school.persistence.IdStorage;
+import com.school.persistence.UuidV7Generator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Writes rollups with {@code INSERT ... ON DUPLICATE KEY UPDATE} on the {@code (child_id, report_month)} key, adding
+ * to the stored counts or replacing them. The summing query reads {@code daily_report} through its
+ * {@code (child_id, report_date)} key without locks; a locking range read there would also gap-lock the days that
+ * have not been reported yet.
+ */
+@RequiredArgsConstructor
+class MonthlyReportRollupImpl implements MonthlyReportRollup {
+
+    private static final String INSERT = "INSERT INTO monthly_report"
+            + " (id, child_id, report_month, days_reported, days_present, meals_eaten, nap_minutes, notes_count, created, updated)"
+            + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String ADD = INSERT
+            + " ON DUPLICATE KEY UPDATE days_reported = days_reported + VALUES(days_reported),"
+            + " days_present = days_present + VALUES(days_present), meals_eaten = meals_eaten + VALUES(meals_eaten),"
+            + " nap_minutes = nap_minutes + VALUES(nap_minutes), notes_count = notes_count + VALUES(notes_count),"
+            + " updated = VALUES(updated)";
+
+    private static final String REPLACE = INSERT
+            + " ON DUPLICATE KEY UPDATE days_reported = VALUES(days_reported), days_present = VALUES(days_present),"
+            + " meals_eaten = VALUES(meals_eaten), nap_minutes = VALUES(nap_minutes), notes_count = VALUES(notes_count),"
+            + " updated = VALUES(updated)";
+
+    private static final String SUM = "SELECT child_id, COUNT(*), SUM(present), SUM(meals_eaten), SUM(nap_minutes),"
+            + " COUNT(notes) FROM daily_report WHERE child_id IN (%s) AND report_date BETWEEN ? AND ?"
+            + " GROUP BY child_id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void addAll(List<MonthlyReport> deltas) {
+        write(ADD, deltas);
+    }
+
+    @Override
+    public void replaceAll(List<MonthlyReport> totals) {
+        write(REPLACE, totals);
+    }
+
+    @Override
+    public List<MonthlyReport> sumDailyReports(Collection<String> childIds, YearMonth month) {
+        if (childIds.isEmpty()) {
+            return List.of();
+        }
+        final var ids = IdStorage.current();
+        final var reportMonth = month.atDay(1);
+        final var sql = SUM.formatted(String.join(", ", Collections.nCopies(childIds.size(), "?")));
+        final var args = new Object[childIds.size() + 2];
+        var i = 0;
+        for (final var childId : childIds) {
+            args[i++] = ids.toJdbc(childId);
+        }
+        args[i++] = Date.valueOf(reportMonth);
+        args[i] = Date.valueOf(month.atEndOfMonth());
+        return jdbcTemplate.query(sql, (rs, row) -> MonthlyReport.builder()
+                .child(Child.builder().id(ids.fromJdbc(rs.getObject(1))).build())
+                .reportMonth(reportMonth)
+                .daysReported(rs.getInt(2))
+                .daysPresent(rs.getInt(3))
+                .mealsEaten(rs.getInt(4))
+                .napMinutes(rs.getInt(5))
+                .notesCount(rs.getInt(6))
+                .build(), args);
+    }
+
+    private void write(String sql, List<MonthlyReport> reports) {
+        if (reports.isEmpty()) {
+            return;
+        }
+        final var ids = IdStorage.current();
+        final var now = Timestamp.from(Instant.now());
+        jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement statement, int i) throws SQLException {
+                final var report = reports.get(i);
+                statement.setObject(1, ids.toJdbc(UuidV7Generator.next()));
+                statement.setObject(2, ids.toJdbc(report.getChild().getId()));
+                statement.setDate(3, Date.valueOf(report.getReportMonth()));
+                statement.setInt(4, report.getDaysReported());
+                statement.setInt(5, report.getDaysPresent());
+                statement.setInt(6, report.getMealsEaten());
+                statement.setInt(7, report.getNapMinutes());
+                statement.setInt(8, report.getNotesCount());
+                statement.setTimestamp(9, now);
+                statement.setTimestamp(10, now);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return reports.size();
+            }
+        });
+    }
+}
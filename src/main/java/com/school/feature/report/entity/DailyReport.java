@@ -1,4 +1,79 @@
 package com.school.feature.report.entity;
 
+import com.school.feature.users.entity.Child;
+import com.school.feature.users.entity.User;
+import com.school.persistence.IdJdbcType;
+import com.school.persistence.UuidV7;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * What a child did on one day: whether they attended, how many meals they ate, how long they napped, their mood and
+ * the teacher's notes. There is at most one report per child and date; submitting again replaces it, see
+ * {@link com.school.feature.report.dao.DailyReportUpsert}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@ToString
+@Entity
+@Table(name = "daily_report")
 public class DailyReport {
+
+    @Id
+    @EqualsAndHashCode.Include
+    @UuidV7
+    @JdbcTypeCode(IdJdbcType.TYPE_CODE)
+    @Column(name = "id", length = 36, columnDefinition = "CHAR(36)", nullable = false)
+    private String id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @JoinColumn(name = "child_id", columnDefinition = "VARCHAR(36)", nullable = false)
+    private Child child;
+
+    @Column(name = "report_date", nullable = false)
+    private LocalDate reportDate;
+
+    @Column(name = "present", nullable = false)
+    private boolean present;
+
+    @Column(name = "meals_eaten", nullable = false)
+    private int mealsEaten;
+
+    @Column(name = "nap_minutes", nullable = false)
+    private int napMinutes;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "mood", columnDefinition = "VARCHAR(20)")
+    private Mood mood;
+
+    @Column(name = "notes", columnDefinition = "VARCHAR(2000)")
+    private String notes;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @JoinColumn(name = "reported_by", columnDefinition = "VARCHAR(36)", nullable = false)
+    private User reportedBy;
+
+    @Column(name = "created", nullable = false)
+    @CreationTimestamp
+    private Instant created;
+
+    @Column(name = "updated", nullable = false)
+    @UpdateTimestamp
+    private Instant updated;
 }
@@ -1,4 +1,72 @@
 package com.school.feature.report.entity;
 
+import com.school.feature.users.entity.Child;
+import com.school.persistence.IdJdbcType;
+import com.school.persistence.UuidV7;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Totals of a child's {@link DailyReport}s for one month, kept up to date as the daily reports are written so that
+ * a month can be shown without reading its daily rows. {@code reportMonth} is the first day of the month. The totals
+ * are only ever changed by {@link com.school.feature.report.dao.MonthlyReportRollup}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@ToString
+@Entity
+@Table(name = "monthly_report")
 public class MonthlyReport {
+
+    @Id
+    @EqualsAndHashCode.Include
+    @UuidV7
+    @JdbcTypeCode(IdJdbcType.TYPE_CODE)
+    @Column(name = "id", length = 36, columnDefinition = "CHAR(36)", nullable = false)
+    private String id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @JoinColumn(name = "child_id", columnDefinition = "VARCHAR(36)", nullable = false)
+    private Child child;
+
+    @Column(name = "report_month", nullable = false)
+    private LocalDate reportMonth;
+
+    @Column(name = "days_reported", nullable = false)
+    private int daysReported;
+
+    @Column(name = "days_present", nullable = false)
+    private int daysPresent;
+
+    @Column(name = "meals_eaten", nullable = false)
+    private int mealsEaten;
+
+    @Column(name = "nap_minutes", nullable = false)
+    private int napMinutes;
+
+    @Column(name = "notes_count", nullable = false)
+    private int notesCount;
+
+    @Column(name = "created", nullable = false)
+    @CreationTimestamp
+    private Instant created;
+
+    @Column(name = "updated", nullable = false)
+    @UpdateTimestamp
+    private Instant updated;
 }
@@ -0,0 +1,5 @@
+package com.school.feature.report.entity;
+
+public enum Mood {
+    HAPPY, CALM, TIRED, UPSET, UNWELL
+}
@@ -0,0 +1,21 @@
+package com.school.feature.users.dao;
+
+import com.school.feature.users.entity.UserRoleStatus;
+import com.school.feature.users.entity.UserStatus;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * One child joined with one of its {@code parent_child} links; the link columns are null for a child without parents.
+ */
+public record ChildExportRow(String id,
+                             String firstName,
+                             String lastName,
+                             LocalDate dateOfBirth,
+                             UserStatus status,
+                             Instant created,
+                             String parentId,
+                             String relation,
+                             UserRoleStatus relationStatus) {
+}
@@ -1,9 +1,70 @@
 package com.school.feature.users.dao;
 
 import com.school.feature.users.entity.Child;
+import com.school.feature.users.entity.UserRoleStatus;
+import com.school.feature.users.entity.UserStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
 @Repository
 public interface IChildRepository extends JpaRepository<Child, String> {
+
+    /**
+     * Children after {@code (created, id)} in that order. Filters are skipped when null; {@code lastNamePrefix} is a
+     * LIKE pattern that uses {@code !} as its escape character. The comparison is spelled out rather than written as
+     * a row value so that {@code :id} is bound with the id's type, which is not inferred inside a tuple.
+     */
+    @Query("select c from Child c where (c.created > :created or (c.created = :created and c.id > :id))"
+            + " and (:status is null or c.status = :status)"
+            + " and (:lastNamePrefix is null or c.lastName like :lastNamePrefix escape '!')"
+            + " order by c.created, c.id")
+    List<Child> findPage(@Param("created") Instant created,
+                         @Param("id") String id,
+                         @Param("status") UserStatus status,
+                         @Param("lastNamePrefix") String lastNamePrefix,
+                         Limit limit);
+
+    @Query("select c.id from Child c where c.id > :after order by c.id")
+    List<String> findIdsAfter(@Param("after") String after, Limit limit);
+
+    @Query("select c.id from Child c where c.id in :ids")
+    List<String> findExistingIds(@Param("ids") Collection<String> ids);
+
+    /**
+     * Like {@link #findExistingIds}, but locks the children's rows until the transaction ends. Writers of a child's
+     * reports take this lock first, in id order, so they wait for each other on rows that always exist rather than
+     * on gap locks in {@code daily_report}, which deadlock concurrent inserts.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c.id from Child c where c.id in :ids order by c.id")
+    List<String> lockExistingIds(@Param("ids") Collection<String> ids);
+
+    @Query("select c from ParentChild pc join pc.child c where pc.parent.id = :parentId and pc.status = :status"
+            + " order by c.created, c.id")
+    List<Child> findByParentIdAndLinkStatus(@Param("parentId") String parentId,
+                                            @Param("status") UserRoleStatus status);
+
+    /**
+     * Streams every child with its parent links, ordered by child so that a child's links are adjacent. The fetch size
+     * makes MySQL Connector/J stream rows instead of buffering the whole result; the caller must consume the stream
+     * inside a transaction and issue no other statement on it until the stream is closed.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("select new com.school.feature.users.dao.ChildExportRow(c.id, c.firstName, c.lastName, c.dateOfBirth,"
+            + " c.status, c.created, pc.parent.id, pc.relation, pc.status)"
+            + " from Child c left join ParentChild pc on pc.child = c order by c.id")
+    Stream<ChildExportRow> streamExportRows();
 } 
\ No newline at end of file
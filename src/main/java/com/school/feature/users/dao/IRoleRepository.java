@@ -1,9 +1,21 @@
 package com.school.feature.users.dao;
 
 import com.school.feature.users.entity.Role;
+import com.school.persistence.CacheRegions;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
-public interface IRoleRepository extends JpaRepository<Role, String> {
+public interface IRoleRepository extends JpaRepository<Role, String>, RoleCacheEviction {
 
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.ROLE_BY_NAME)
+    })
     Role findByName(String name);
+
+    @Query("select new com.school.feature.users.dao.RoleVersion(max(r.updated), count(r)) from Role r")
+    RoleVersion findVersion();
 }
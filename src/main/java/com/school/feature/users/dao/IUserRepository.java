@@ -1,13 +1,52 @@
 package com.school.feature.users.dao;
 
 import com.school.feature.users.entity.User;
+import com.school.feature.users.entity.UserSession;
+import com.school.feature.users.entity.UserStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface IUserRepository extends JpaRepository<User, String> {
 
     Optional<User> findByEmail(String email);
+
+    @Query("select u, s from User u left join fetch u.userRoles ur left join fetch ur.role"
+            + " left join UserSession s on s.user = u and s.active = true where u.email = :email")
+    List<Object[]> findLoginRowsByEmail(@Param("email") String email);
+
+    /**
+     * Loads the user, its roles and its active session in one statement. There is one row per role, each carrying
+     * the same user and session instances.
+     */
+    default Optional<UserLogin> findForLogin(String email) {
+        return findLoginRowsByEmail(email).stream()
+                .findFirst()
+                .map(row -> new UserLogin((User) row[0], (UserSession) row[1]));
+    }
+
+    @Query("select u.id from User u where u.id in :ids")
+    List<String> findExistingIds(@Param("ids") Collection<String> ids);
+
+    @Query("select u.email from User u where u.email in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update User u set u.userStatus = :status, u.updated = :now where u.id = :id")
+    int updateStatus(@Param("id") String id, @Param("status") UserStatus status, @Param("now") Instant now);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update User u set u.password = :password where u.id = :id")
+    int updatePassword(@Param("id") String id, @Param("password") String password);
 }
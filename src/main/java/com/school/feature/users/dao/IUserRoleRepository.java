@@ -2,8 +2,13 @@ package com.school.feature.users.dao;
 
 import com.school.feature.users.entity.UserRole;
 import com.school.feature.users.entity.UserRoleId;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.List;
+
 public interface IUserRoleRepository extends JpaRepository<UserRole, UserRoleId> {
 
+    @EntityGraph(attributePaths = "role")
+    List<UserRole> findByUserId(String userId);
 }
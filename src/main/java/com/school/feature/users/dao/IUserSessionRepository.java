@@ -1,11 +1,93 @@
 package com.school.feature.users.dao;
 
 import com.school.feature.users.entity.UserSession;
+import com.school.persistence.IdStorage;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 public interface IUserSessionRepository extends JpaRepository<UserSession, String> {
 
     UserSession findByUserIdAndActive(String userId, boolean active);
+
+    /**
+     * Inserts an active session unless the user already has one. {@code active_user_id} is unique, so of several
+     * concurrent logins exactly one insert succeeds and the others affect no rows.
+     */
+    default int insertActiveIfAbsent(String token, String userId, Instant now) {
+        // Native queries bypass the id mapping, so bind the id in its stored form
+        return insertActiveRowIfAbsent(token, IdStorage.current().toJdbc(userId), now);
+    }
+
+    // Declare the table written, otherwise Hibernate drops the whole second-level cache after a native update
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_session"))
+    @Query(value = "INSERT IGNORE INTO user_session (token, user_id, active, created, updated, last_accessed)"
+            + " VALUES (:token, :userId, 1, :now, :now, :now)", nativeQuery = true)
+    int insertActiveRowIfAbsent(@Param("token") String token, @Param("userId") Object userId, @Param("now") Instant now);
+
+    /**
+     * Loads the session with its user, user roles and roles in one statement, as needed to authorize requests. Roles
+     * are fetch joined in the query because Hibernate does not join the {@code @MapsId} side of an entity graph.
+     */
+    @Query("select s from UserSession s join fetch s.user u left join fetch u.userRoles ur left join fetch ur.role"
+            + " where s.token = :token")
+    Optional<UserSession> findByToken(@Param("token") String token);
+
+    /**
+     * Deactivates one session, returning 0 when it does not exist or is already inactive.
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update UserSession s set s.active = false, s.updated = :now where s.token = :token and s.active = true")
+    int deactivate(@Param("token") String token, @Param("now") Instant now);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update UserSession s set s.active = false, s.updated = :now where s.user.id = :userId and s.active = true")
+    int deactivateAllForUser(@Param("userId") String userId, @Param("now") Instant now);
+
+    @Query("select s.token from UserSession s where s.active = false and s.updated >= :since")
+    List<String> findInactiveTokensUpdatedSince(@Param("since") Instant since);
+
+    @Transactional
+    @Modifying
+    @Query("update UserSession s set s.lastAccessed = :now where s.token = :token and s.active = true")
+    int touch(@Param("token") String token, @Param("now") Instant now);
+
+    @Query("select s.token from UserSession s where s.active = true and s.token > :after"
+            + " and (s.lastAccessed < :idleCutoff or s.created < :absoluteCutoff) order by s.token")
+    List<String> findExpiredTokens(@Param("after") String after,
+                                   @Param("idleCutoff") Instant idleCutoff,
+                                   @Param("absoluteCutoff") Instant absoluteCutoff,
+                                   Limit limit);
+
+    @Transactional
+    @Modifying
+    @Query("update UserSession s set s.active = false, s.updated = :now where s.token in :tokens and s.active = true"
+            + " and (s.lastAccessed < :idleCutoff or s.created < :absoluteCutoff)")
+    int deactivateExpired(@Param("tokens") List<String> tokens,
+                          @Param("idleCutoff") Instant idleCutoff,
+                          @Param("absoluteCutoff") Instant absoluteCutoff,
+                          @Param("now") Instant now);
+
+    @Query("select s.token from UserSession s where s.active = false and s.token > :after and s.updated < :cutoff"
+            + " order by s.token")
+    List<String> findPurgeableTokens(@Param("after") String after, @Param("cutoff") Instant cutoff, Limit limit);
+
+    @Transactional
+    @Modifying
+    @Query("delete from UserSession s where s.token in :tokens and s.active = false")
+    int deleteInactive(@Param("tokens") List<String> tokens);
 }
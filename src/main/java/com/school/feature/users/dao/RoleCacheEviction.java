@@ -0,0 +1,10 @@
+package com.school.feature.users.dao;
+
+public interface RoleCacheEviction {
+
+    /**
+     * Drops cached roles and role lookups. Hibernate keeps the cache in step with its own writes; this is for role
+     * rows changed by SQL outside the application.
+     */
+    void evictRoleCache();
+}
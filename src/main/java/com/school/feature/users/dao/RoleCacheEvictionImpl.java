@@ -0,0 +1,20 @@
+package com.school.feature.users.dao;
+
+import com.school.feature.users.entity.Role;
+import com.school.persistence.CacheRegions;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+
+@RequiredArgsConstructor
+class RoleCacheEvictionImpl implements RoleCacheEviction {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public void evictRoleCache() {
+        final var cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        cache.evictEntityData(Role.class);
+        cache.evictQueryRegion(CacheRegions.ROLE_BY_NAME);
+    }
+}
@@ -0,0 +1,9 @@
+package com.school.feature.users.dao;
+
+import java.time.Instant;
+
+/**
+ * Latest {@code role.updated} and the number of roles; changes whenever a role is added, removed or edited.
+ */
+public record RoleVersion(Instant lastUpdated, long count) {
+}
@@ -0,0 +1,10 @@
+package com.school.feature.users.dao;
+
+import com.school.feature.users.entity.User;
+import com.school.feature.users.entity.UserSession;
+
+/**
+ * A user with its roles and, if there is one, its active session, as loaded for the login path.
+ */
+public record UserLogin(User user, UserSession activeSession) {
+}
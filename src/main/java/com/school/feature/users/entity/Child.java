@@ -1,13 +1,17 @@
 package com.school.feature.users.entity;
 
+import com.school.persistence.IdJdbcType;
+import com.school.persistence.UuidV7;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.annotations.UpdateTimestamp;
-import org.hibernate.annotations.UuidGenerator;
 
 import java.time.Instant;
 import java.time.LocalDate;
@@ -16,12 +20,16 @@ import java.time.LocalDate;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@ToString
 @Entity
 @Table(name = "child")
 public class Child {
 
     @Id
-    @UuidGenerator
+    @EqualsAndHashCode.Include
+    @UuidV7
+    @JdbcTypeCode(IdJdbcType.TYPE_CODE)
     @Column(name = "id", length = 36, columnDefinition = "CHAR(36)", nullable = false)
     private String id;
 
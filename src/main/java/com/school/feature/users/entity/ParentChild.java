@@ -1,13 +1,17 @@
 package com.school.feature.users.entity;
 
+import com.school.persistence.IdJdbcType;
+import com.school.persistence.UuidV7;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.annotations.UpdateTimestamp;
-import org.hibernate.annotations.UuidGenerator;
 
 import java.time.Instant;
 
@@ -15,20 +19,26 @@ import java.time.Instant;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@ToString
 @Entity
 @Table(name = "parent_child")
 public class ParentChild {
 
     @Id
-    @UuidGenerator
+    @EqualsAndHashCode.Include
+    @UuidV7
+    @JdbcTypeCode(IdJdbcType.TYPE_CODE)
     @Column(name = "id", length = 36, columnDefinition = "CHAR(36)", nullable = false)
     private String id;
 
     @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
     @JoinColumn(name = "parent_id", columnDefinition = "VARCHAR(36)", nullable = false)
     private User parent;
 
     @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
     @JoinColumn(name = "child_id", columnDefinition = "VARCHAR(36)", nullable = false)
     private Child child;
 
@@ -1,13 +1,19 @@
 package com.school.feature.users.entity;
 
+import com.school.persistence.CacheRegions;
+import com.school.persistence.IdJdbcType;
+import com.school.persistence.UuidV7;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.annotations.UpdateTimestamp;
-import org.hibernate.annotations.UuidGenerator;
 
 import java.time.Instant;
 
@@ -15,12 +21,17 @@ import java.time.Instant;
 @Builder
 @Table(name = "role")
 @Entity
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.ROLE)
 @AllArgsConstructor
 @NoArgsConstructor
 public class Role {
 
     @Id
-    @UuidGenerator
+    @EqualsAndHashCode.Include
+    @UuidV7
+    @JdbcTypeCode(IdJdbcType.TYPE_CODE)
     @Column(name = "id", columnDefinition = "VARCHAR(36)")
     private String id;
 
@@ -1,29 +1,40 @@
 package com.school.feature.users.entity;
 
+import com.school.persistence.CacheRegions;
+import com.school.persistence.IdJdbcType;
+import com.school.persistence.UuidV7;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import org.hibernate.Hibernate;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
-import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.annotations.UpdateTimestamp;
-import org.hibernate.annotations.UuidGenerator;
 
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@ToString
 @Entity
 @Table(name = "user")
 public class User {
 
     @Id
-    @UuidGenerator
+    @EqualsAndHashCode.Include
+    @UuidV7
+    @JdbcTypeCode(IdJdbcType.TYPE_CODE)
     @Column(name = "id", length = 36, columnDefinition = "CHAR(36)", nullable = false)
     private String id;
 
@@ -36,6 +47,7 @@ public class User {
     @Column(name = "email", columnDefinition = "VARCHAR(100)", nullable = false)
     private String email;
 
+    @ToString.Exclude
     @Column(name = "password", columnDefinition = "VARCHAR(255)", nullable = false)
     private String password;
 
@@ -51,8 +63,12 @@ public class User {
     @Column(name = "status", columnDefinition = "VARCHAR(50)", nullable = false)
     private UserStatus userStatus;
 
-    @OneToMany(fetch = FetchType.EAGER, mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
-    private List<UserRole> userRoles;
+    // Only login and session resolution need roles; they fetch them explicitly
+    @OneToMany(fetch = FetchType.LAZY, mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
+    @ToString.Exclude
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.USER_ROLES)
+    @Builder.Default
+    private List<UserRole> userRoles = new ArrayList<>();
 
     public boolean isAdmin() {
         if (getUserRoles() == null || getUserRoles().isEmpty()) {
@@ -1,13 +1,18 @@
 package com.school.feature.users.entity;
 
+import com.school.persistence.CacheRegions;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
 @Table(name = "user_role")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.USER_ROLE)
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 @ToString
 @Builder
@@ -18,11 +23,13 @@ public class UserRole {
     private UserRoleId id;
 
     @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
     @MapsId("userId")
     @JoinColumn(name = "user_id", columnDefinition = "VARCHAR(36)")
     private User user;
 
     @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
     @MapsId("roleId")
     @JoinColumn(name = "role_id", columnDefinition = "VARCHAR(36)")
     private Role role;
@@ -1,11 +1,12 @@
 package com.school.feature.users.entity;
 
-
+import com.school.persistence.IdJdbcType;
 import jakarta.persistence.Embeddable;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
 
 @Data
 @Embeddable
@@ -14,6 +15,9 @@ import lombok.NoArgsConstructor;
 @Builder
 public class UserRoleId {
 
+    @JdbcTypeCode(IdJdbcType.TYPE_CODE)
     private String userId;
+
+    @JdbcTypeCode(IdJdbcType.TYPE_CODE)
     private String roleId;
 }
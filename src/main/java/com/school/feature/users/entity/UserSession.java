@@ -1,12 +1,10 @@
 package com.school.feature.users.entity;
 
 import jakarta.persistence.*;
-import lombok.AllArgsConstructor;
-import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.springframework.data.domain.Persistable;
 
 import java.time.Instant;
 
@@ -14,15 +12,19 @@ import java.time.Instant;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@ToString
 @Entity
 @Table(name = "user_session")
-public class UserSession {
+public class UserSession implements Persistable<String> {
 
     @Id
+    @EqualsAndHashCode.Include
     @Column(name = "token", length = 32, columnDefinition = "VARCHAR(32)", nullable = false)
     private String token;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
     @JoinColumn(name = "user_id", columnDefinition = "VARCHAR(36)", nullable = false, updatable = false)
     private User user;
 
@@ -36,4 +38,32 @@ public class UserSession {
     @Column(name = "updated", nullable = false)
     @UpdateTimestamp
     private Instant updated;
+
+    @Column(name = "last_accessed", nullable = false)
+    @CreationTimestamp
+    private Instant lastAccessed;
+
+    // Tokens are assigned by the application, so without this save() would merge and select the row before inserting
+    @Transient
+    @Builder.Default
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    private boolean newSession = true;
+
+    @Override
+    public String getId() {
+        return token;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newSession;
+    }
+
+    @PostLoad
+    @PrePersist
+    void markNotNew() {
+        newSession = false;
+    }
 }
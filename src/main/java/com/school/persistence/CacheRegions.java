@@ -0,0 +1,16 @@
+package com.school.persistence;
+
+/**
+ * Names of the second-level cache regions. Each region needs an entry with a maximum size in
+ * {@code hibernate-cache.conf}; Hibernate refuses to start if one is missing.
+ */
+public final class CacheRegions {
+
+    public static final String ROLE = "role";
+    public static final String USER_ROLE = "user_role";
+    public static final String USER_ROLES = "user_roles";
+    public static final String ROLE_BY_NAME = "role_by_name";
+
+    private CacheRegions() {
+    }
+}
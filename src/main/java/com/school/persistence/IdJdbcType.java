@@ -0,0 +1,106 @@
+package com.school.persistence;
+
+import org.hibernate.type.descriptor.ValueBinder;
+import org.hibernate.type.descriptor.ValueExtractor;
+import org.hibernate.type.descriptor.WrapperOptions;
+import org.hibernate.type.descriptor.java.JavaType;
+import org.hibernate.type.descriptor.jdbc.BasicBinder;
+import org.hibernate.type.descriptor.jdbc.BasicExtractor;
+import org.hibernate.type.descriptor.jdbc.JdbcType;
+import org.hibernate.type.spi.TypeConfiguration;
+
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+
+/**
+ * Binds string ids as {@code VARCHAR} or as 16 bytes depending on {@link IdStorage}. Mapped with
+ * {@code @JdbcTypeCode(IdJdbcType.TYPE_CODE)} on every id and on the embedded key columns; association columns
+ * follow the id they reference.
+ */
+public class IdJdbcType implements JdbcType {
+
+    public static final int TYPE_CODE = 7_016;
+
+    private final IdStorage storage;
+
+    public IdJdbcType(IdStorage storage) {
+        this.storage = storage;
+    }
+
+    @Override
+    public int getJdbcTypeCode() {
+        return storage == IdStorage.BINARY ? Types.BINARY : Types.VARCHAR;
+    }
+
+    @Override
+    public int getDefaultSqlTypeCode() {
+        return TYPE_CODE;
+    }
+
+    @Override
+    public String getFriendlyName() {
+        return "ID_" + storage;
+    }
+
+    @Override
+    public Class<?> getPreferredJavaTypeClass(WrapperOptions options) {
+        return String.class;
+    }
+
+    @Override
+    public <T> JavaType<T> getJdbcRecommendedJavaTypeMapping(Integer precision, Integer scale, TypeConfiguration typeConfiguration) {
+        return typeConfiguration.getJavaTypeRegistry().getDescriptor(String.class);
+    }
+
+    @Override
+    public <X> ValueBinder<X> getBinder(JavaType<X> javaType) {
+        return new BasicBinder<>(javaType, this) {
+            @Override
+            protected void doBind(PreparedStatement st, X value, int index, WrapperOptions options) throws SQLException {
+                final var id = javaType.unwrap(value, String.class, options);
+                if (storage == IdStorage.BINARY) {
+                    st.setBytes(index, IdStorage.toBytes(id));
+                } else {
+                    st.setString(index, id);
+                }
+            }
+
+            @Override
+            protected void doBind(CallableStatement st, X value, String name, WrapperOptions options) throws SQLException {
+                final var id = javaType.unwrap(value, String.class, options);
+                if (storage == IdStorage.BINARY) {
+                    st.setBytes(name, IdStorage.toBytes(id));
+                } else {
+                    st.setString(name, id);
+                }
+            }
+        };
+    }
+
+    @Override
+    public <X> ValueExtractor<X> getExtractor(JavaType<X> javaType) {
+        return new BasicExtractor<>(javaType, this) {
+            @Override
+            protected X doExtract(ResultSet rs, int paramIndex, WrapperOptions options) throws SQLException {
+                return wrap(storage == IdStorage.BINARY ? IdStorage.fromBytes(rs.getBytes(paramIndex)) : rs.getString(paramIndex), options);
+            }
+
+            @Override
+            protected X doExtract(CallableStatement statement, int index, WrapperOptions options) throws SQLException {
+                return wrap(storage == IdStorage.BINARY ? IdStorage.fromBytes(statement.getBytes(index)) : statement.getString(index), options);
+            }
+
+            @Override
+            protected X doExtract(CallableStatement statement, String name, WrapperOptions options) throws SQLException {
+                return wrap(storage == IdStorage.BINARY ? IdStorage.fromBytes(statement.getBytes(name)) : statement.getString(name), options);
+            }
+
+            private X wrap(String id, WrapperOptions options) {
+                return javaType.wrap(id, options);
+            }
+        };
+    }
+}
@@ -0,0 +1,78 @@
+package com.school.persistence;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+/**
+ * How UUID primary and foreign keys are stored, chosen with the Hibernate setting {@value #SETTING}. Entities always
+ * see ids as strings; {@link IdJdbcType} converts them on the way to and from the database.
+ * <ul>
+ *     <li>{@code char}: the 36 character string, as in {@code schema.sql}</li>
+ *     <li>{@code binary}: the 16 bytes of the UUID in {@code BINARY(16)} columns, after running
+ *     {@code migrate_binary_ids.sql}</li>
+ * </ul>
+ */
+public enum IdStorage {
+    CHAR,
+    BINARY;
+
+    public static final String SETTING = "schoolday.id-storage";
+
+    private static final byte[] NO_MATCH = new byte[0];
+
+    private static volatile IdStorage current = CHAR;
+
+    public static IdStorage current() {
+        return current;
+    }
+
+    static void setCurrent(IdStorage storage) {
+        current = storage;
+    }
+
+    public static IdStorage parse(String value) {
+        return value == null || value.isBlank() ? CHAR : valueOf(value.trim().toUpperCase());
+    }
+
+    /**
+     * Returns the value to bind for an id in a native query, where Hibernate does not convert it.
+     */
+    public Object toJdbc(String id) {
+        return this == BINARY && id != null ? toBytes(id) : id;
+    }
+
+    /**
+     * Returns the id for a value read from a UUID column with {@code ResultSet.getObject}.
+     */
+    public String fromJdbc(Object value) {
+        return value instanceof byte[] bytes ? fromBytes(bytes) : (String) value;
+    }
+
+    /**
+     * Returns the 16 bytes of a UUID string. Anything that is not a UUID becomes an empty value, which matches no row.
+     */
+    public static byte[] toBytes(String id) {
+        final UUID uuid;
+        try {
+            uuid = UUID.fromString(id);
+        } catch (IllegalArgumentException e) {
+            return NO_MATCH;
+        }
+        if (id.length() != 36) {
+            // UUID.fromString accepts shortened groups
+            return NO_MATCH;
+        }
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+
+    public static String fromBytes(byte[] bytes) {
+        if (bytes == null) {
+            return null;
+        }
+        final var buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong()).toString();
+    }
+}
@@ -0,0 +1,31 @@
+package com.school.persistence;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.boot.model.TypeContributions;
+import org.hibernate.boot.model.TypeContributor;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.engine.jdbc.spi.JdbcServices;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.descriptor.sql.internal.DdlTypeImpl;
+
+/**
+ * Registers {@link IdJdbcType} for the configured {@link IdStorage}. Loaded by Hibernate through
+ * {@code META-INF/services}, so it also applies to JPA test slices.
+ */
+@Slf4j
+public class IdTypeContributor implements TypeContributor {
+
+    @Override
+    public void contribute(TypeContributions typeContributions, ServiceRegistry serviceRegistry) {
+        final var storage = IdStorage.parse(serviceRegistry.requireService(ConfigurationService.class)
+                .getSetting(IdStorage.SETTING, StandardConverters.STRING));
+        IdStorage.setCurrent(storage);
+
+        final var dialect = serviceRegistry.requireService(JdbcServices.class).getDialect();
+        typeContributions.contributeJdbcType(new IdJdbcType(storage));
+        typeContributions.getTypeConfiguration().getDdlTypeRegistry().addDescriptor(
+                new DdlTypeImpl(IdJdbcType.TYPE_CODE, storage == IdStorage.BINARY ? "binary(16)" : "char(36)", dialect));
+        log.info("Storing ids as {}", storage);
+    }
+}
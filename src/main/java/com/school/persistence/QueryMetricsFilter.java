@@ -0,0 +1,48 @@
+package com.school.persistence;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Records the statements issued and rows read by each request as {@code http.server.statements} and
+ * {@code http.server.rows}, tagged by method and route pattern like {@code http.server.requests}, which covers their
+ * latency. Authentication is included.
+ */
+@RequiredArgsConstructor
+public class QueryMetricsFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry registry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        final var scope = QueryScope.open(request.getMethod() + " " + request.getRequestURI());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            scope.close();
+            final var pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            final var tags = Tags.of("method", request.getMethod(), "uri", pattern == null ? "UNKNOWN" : pattern.toString());
+            DistributionSummary.builder("http.server.statements")
+                    .description("Statements issued per request")
+                    .tags(tags)
+                    .register(registry)
+                    .record(scope.getStatements());
+            DistributionSummary.builder("http.server.rows")
+                    .description("Rows read per request")
+                    .tags(tags)
+                    .register(registry)
+                    .record(scope.getRows());
+        }
+    }
+}
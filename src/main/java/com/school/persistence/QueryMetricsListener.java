@@ -0,0 +1,122 @@
+package com.school.persistence;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.proxy.ResultSetProxyLogicFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Records every statement executed through a datasource-proxy wrapped {@link javax.sql.DataSource}: the
+ * {@code jdbc.statements} timer by statement type, rows read, and the tally of the current {@link QueryScope}.
+ * Statements that take at least {@code slowThreshold} are logged with their bind parameters reduced to their types.
+ * Rows are counted by the result set proxies of {@link #rowCountingResultSets()}, so no listener runs on the other
+ * JDBC calls.
+ */
+@Slf4j
+public class QueryMetricsListener implements QueryExecutionListener {
+
+    private static final Set<String> STATEMENT_TYPES = Set.of("select", "insert", "update", "delete");
+
+    private final MeterRegistry registry;
+    private final Duration slowThreshold;
+    private final Counter rows;
+    private final Counter slowStatements;
+
+    public QueryMetricsListener(MeterRegistry registry, Duration slowThreshold) {
+        this.registry = registry;
+        this.slowThreshold = slowThreshold;
+        this.rows = Counter.builder("jdbc.rows")
+                .description("Rows read from result sets")
+                .register(registry);
+        this.slowStatements = Counter.builder("jdbc.statements.slow")
+                .description("Statements that took at least the slow statement threshold")
+                .register(registry);
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        QueryScope.statementExecuted();
+        final var elapsed = Duration.ofMillis(execInfo.getElapsedTime());
+        Timer.builder("jdbc.statements")
+                .description("Statements executed, a JDBC batch counts once")
+                .tags(Tags.of("type", type(queryInfoList), "outcome", execInfo.isSuccess() ? "success" : "error"))
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(elapsed);
+        if (elapsed.compareTo(slowThreshold) >= 0) {
+            slowStatements.increment();
+            log.warn("Slow statement took {} ms in {}: {} parameters {}", elapsed.toMillis(),
+                    QueryScope.current().map(QueryScope::getName).orElse("-"),
+                    queryInfoList.stream().map(QueryInfo::getQuery).collect(Collectors.joining("; ")),
+                    redact(queryInfoList));
+        }
+    }
+
+    /**
+     * Result set proxies that count every {@code next()} that returns a row.
+     */
+    public ResultSetProxyLogicFactory rowCountingResultSets() {
+        return (resultSet, connectionInfo, proxyConfig) -> {
+            final var logic = ResultSetProxyLogicFactory.DEFAULT.create(resultSet, connectionInfo, proxyConfig);
+            return (proxy, method, args) -> {
+                final var result = logic.invoke(proxy, method, args);
+                if (Boolean.TRUE.equals(result) && "next".equals(method.getName())) {
+                    rows.increment();
+                    QueryScope.rowRead();
+                }
+                return result;
+            };
+        };
+    }
+
+    /**
+     * Describes the bind parameters by type only, so values such as emails, tokens or password hashes never reach the
+     * log. A batch shows its first parameter set and how many followed.
+     */
+    static String redact(List<QueryInfo> queryInfoList) {
+        final var parameters = queryInfoList.stream()
+                .flatMap(queryInfo -> queryInfo.getParametersList().stream())
+                .toList();
+        if (parameters.isEmpty()) {
+            return "[]";
+        }
+        final var first = parameters.get(0).stream()
+                .map(QueryMetricsListener::redact)
+                .collect(Collectors.joining(", ", "[", "]"));
+        return parameters.size() == 1 ? first : first + " and " + (parameters.size() - 1) + " more";
+    }
+
+    private static String redact(ParameterSetOperation operation) {
+        final var args = operation.getArgs();
+        if (ParameterSetOperation.isSetNullParameterOperation(operation) || args.length < 2 || args[1] == null) {
+            return "null";
+        }
+        return args[1].getClass().getSimpleName();
+    }
+
+    private static String type(List<QueryInfo> queryInfoList) {
+        if (queryInfoList.isEmpty()) {
+            return "other";
+        }
+        final var query = queryInfoList.get(0).getQuery().stripLeading();
+        final var end = query.indexOf(' ');
+        final var keyword = (end < 0 ? query : query.substring(0, end)).toLowerCase(Locale.ROOT);
+        return STATEMENT_TYPES.contains(keyword) ? keyword : "other";
+    }
+}
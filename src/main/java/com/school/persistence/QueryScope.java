@@ -0,0 +1,66 @@
+package com.school.persistence;
+
+import java.util.Optional;
+
+/**
+ * Per-thread tally of the JDBC statements executed, and rows read, while the scope is open. Scopes nest and every
+ * open scope on the thread counts a statement, so a request scope also covers the repository calls made within it.
+ * Work handed to other threads is not counted.
+ */
+public final class QueryScope implements AutoCloseable {
+
+    private static final ThreadLocal<QueryScope> CURRENT = new ThreadLocal<>();
+
+    private final String name;
+    private final QueryScope parent;
+    private int statements;
+    private long rows;
+
+    private QueryScope(String name, QueryScope parent) {
+        this.name = name;
+        this.parent = parent;
+    }
+
+    public static QueryScope open(String name) {
+        final var scope = new QueryScope(name, CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    public static Optional<QueryScope> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    static void statementExecuted() {
+        for (var scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            scope.statements++;
+        }
+    }
+
+    static void rowRead() {
+        for (var scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            scope.rows++;
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    @Override
+    public void close() {
+        if (parent == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(parent);
+        }
+    }
+}
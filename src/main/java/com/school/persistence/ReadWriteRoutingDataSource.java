@@ -0,0 +1,89 @@
+package com.school.persistence;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Sends connections for read-only transactions to the replica and everything else to the primary. It must sit behind
+ * a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} so that the connection is chosen at the
+ * first statement, once the transaction's read-only flag is known.
+ * <p>
+ * After a user runs a read-write transaction, that user's read-only transactions stay on the primary for
+ * {@code readYourWrites}, so they see their own changes despite replica lag. A zero window turns this off. The user
+ * is whoever {@code currentUserId} returns when the connection is chosen, so writes that should not count, such as
+ * the session's access time, run with no user bound.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource implements MeterBinder {
+
+    private static final String METRIC_NAME = "datasource.routing";
+
+    public enum Target {
+        PRIMARY,
+        REPLICA
+    }
+
+    private final Supplier<Optional<String>> currentUserId;
+    private final Cache<String, Boolean> recentWriters;
+    private final AtomicLong primaryConnections = new AtomicLong();
+    private final AtomicLong replicaConnections = new AtomicLong();
+    private final AtomicLong pinnedConnections = new AtomicLong();
+
+    public ReadWriteRoutingDataSource(DataSource primary,
+                                      DataSource replica,
+                                      Duration readYourWrites,
+                                      Supplier<Optional<String>> currentUserId) {
+        this.currentUserId = currentUserId;
+        this.recentWriters = readYourWrites.isZero() || readYourWrites.isNegative()
+                ? null
+                : Caffeine.newBuilder().expireAfterWrite(readYourWrites).build();
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Target determineCurrentLookupKey() {
+        final var userId = recentWriters == null ? null : currentUserId.get().orElse(null);
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (userId != null && TransactionSynchronizationManager.isActualTransactionActive()) {
+                recentWriters.put(userId, Boolean.TRUE);
+            }
+            primaryConnections.incrementAndGet();
+            return Target.PRIMARY;
+        }
+        if (userId != null && recentWriters.getIfPresent(userId) != null) {
+            pinnedConnections.incrementAndGet();
+            primaryConnections.incrementAndGet();
+            return Target.PRIMARY;
+        }
+        replicaConnections.incrementAndGet();
+        return Target.REPLICA;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder(METRIC_NAME, primaryConnections, AtomicLong::get)
+                .tag("target", "primary")
+                .description("Connections routed to each pool")
+                .register(registry);
+        FunctionCounter.builder(METRIC_NAME, replicaConnections, AtomicLong::get)
+                .tag("target", "replica")
+                .description("Connections routed to each pool")
+                .register(registry);
+        FunctionCounter.builder(METRIC_NAME + ".pinned", pinnedConnections, AtomicLong::get)
+                .description("Read-only connections kept on the primary after the user's own write")
+                .register(registry);
+    }
+}
@@ -0,0 +1,63 @@
+package com.school.persistence;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.repository.Repository;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records the statements issued and rows read by each repository method as {@code repository.statements} and
+ * {@code repository.rows}, tagged like Spring Data's own {@code spring.data.repository.invocations} timer, which
+ * covers their latency.
+ */
+@Aspect
+@Order(Ordered.LOWEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class RepositoryQueryMetricsAspect {
+
+    private final MeterRegistry registry;
+    private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+    @Around("execution(* com.school..dao.*Repository+.*(..))")
+    public Object record(ProceedingJoinPoint joinPoint) throws Throwable {
+        final var repository = repositoryNames.computeIfAbsent(joinPoint.getThis().getClass(),
+                proxyClass -> repositoryName(joinPoint.getThis()));
+        final var method = joinPoint.getSignature().getName();
+        final var scope = QueryScope.open(repository + "." + method);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            scope.close();
+            final var tags = Tags.of("repository", repository, "method", method);
+            DistributionSummary.builder("repository.statements")
+                    .description("Statements issued per repository method call")
+                    .tags(tags)
+                    .register(registry)
+                    .record(scope.getStatements());
+            DistributionSummary.builder("repository.rows")
+                    .description("Rows read per repository method call")
+                    .tags(tags)
+                    .register(registry)
+                    .record(scope.getRows());
+        }
+    }
+
+    private static String repositoryName(Object proxy) {
+        return Arrays.stream(AopProxyUtils.proxiedUserInterfaces(proxy))
+                .filter(Repository.class::isAssignableFrom)
+                .findFirst()
+                .map(Class::getSimpleName)
+                .orElseGet(() -> AopProxyUtils.ultimateTargetClass(proxy).getSimpleName());
+    }
+}
@@ -0,0 +1,62 @@
+package com.school.persistence;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+
+import java.security.SecureRandom;
+import java.util.EnumSet;
+import java.util.UUID;
+
+/**
+ * Version 7 UUIDs (RFC 9562): 48 bits of Unix milliseconds, then a 12 bit counter, then 62 random bits. Ids made later
+ * sort after earlier ones, both as bytes and in the lowercase string form, so new rows are appended to the end of the
+ * primary key index instead of being scattered across it like random (version 4) UUIDs. The counter keeps ids made
+ * in the same millisecond in order; when it runs out the timestamp is advanced by one.
+ */
+public class UuidV7Generator implements BeforeExecutionGenerator {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final int COUNTER_BITS = 12;
+    private static final int MAX_COUNTER = (1 << COUNTER_BITS) - 1;
+
+    private static long lastMillis;
+    private static int counter;
+
+    public static String next() {
+        return nextUuid().toString();
+    }
+
+    static UUID nextUuid() {
+        final long millis;
+        final int sequence;
+        synchronized (UuidV7Generator.class) {
+            final var now = System.currentTimeMillis();
+            if (now > lastMillis) {
+                lastMillis = now;
+                // Start low in the range so that many ids fit into the same millisecond
+                counter = RANDOM.nextInt(MAX_COUNTER / 2);
+            } else if (counter < MAX_COUNTER) {
+                counter++;
+            } else {
+                lastMillis++;
+                counter = 0;
+            }
+            millis = lastMillis;
+            sequence = counter;
+        }
+        final var mostSignificant = (millis << 16) | (0x7L << 12) | sequence;
+        final var leastSignificant = (RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSignificant, leastSignificant);
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue, EventType eventType) {
+        return next();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EnumSet.of(EventType.INSERT);
+    }
+}
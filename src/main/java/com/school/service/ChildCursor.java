@@ -0,0 +1,37 @@
+package com.school.service;
+
+import com.school.exceptions.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position after the last child of a page in {@code (created, id)} order, handed to clients as an opaque string.
+ */
+record ChildCursor(Instant created, String id) {
+
+    static final ChildCursor START = new ChildCursor(Instant.EPOCH, "");
+
+    String encode() {
+        final var raw = created + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static ChildCursor decode(String cursor) throws ValidationException {
+        if (cursor == null || cursor.isEmpty()) {
+            return START;
+        }
+        try {
+            final var raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            final var separator = raw.indexOf('|');
+            if (separator < 0) {
+                throw new ValidationException("Invalid cursor");
+            }
+            return new ChildCursor(Instant.parse(raw.substring(0, separator)), raw.substring(separator + 1));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ValidationException("Invalid cursor", e);
+        }
+    }
+}
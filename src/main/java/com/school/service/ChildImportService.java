@@ -0,0 +1,214 @@
+package com.school.service;
+
+import com.school.authentication.AuthenticatedUser;
+import com.school.authentication.Permission;
+import com.school.authentication.RequiresPermission;
+import com.school.exceptions.ValidationException;
+import com.school.feature.users.dao.IChildRepository;
+import com.school.feature.users.dao.IParentChildRepository;
+import com.school.feature.users.dao.IUserRepository;
+import com.school.feature.users.entity.Child;
+import com.school.feature.users.entity.ParentChild;
+import com.school.feature.users.entity.User;
+import com.school.feature.users.entity.UserRoleStatus;
+import com.school.feature.users.entity.UserStatus;
+import com.school.web.dtos.AddChildDTO;
+import com.school.web.dtos.ImportReportDTO;
+import com.school.web.dtos.ImportRowResultDTO;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Creates many children with their parent links in one call. Every row is validated and every referenced parent is
+ * resolved with a single query before anything is written; the valid rows are then inserted in chunks of
+ * {@code children.import.chunk-size}, each chunk in its own transaction so that a failing chunk only fails its own
+ * rows. Inserts are sent as JDBC batches ({@code hibernate.jdbc.batch_size}), which the MySQL driver rewrites into
+ * multi-row statements.
+ */
+@Service
+@Slf4j
+public class ChildImportService {
+
+    private static final int NAME_LENGTH = 100;
+    private static final int RELATION_LENGTH = 50;
+
+    private final IChildRepository childRepository;
+    private final IUserRepository userRepository;
+    private final IParentChildRepository parentChildRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate chunkTransaction;
+    private final int chunkSize;
+    private final int maxRows;
+
+    public ChildImportService(IChildRepository childRepository,
+                              IUserRepository userRepository,
+                              IParentChildRepository parentChildRepository,
+                              EntityManager entityManager,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${children.import.chunk-size:200}") int chunkSize,
+                              @Value("${children.import.max-rows:5000}") int maxRows) {
+        this.childRepository = childRepository;
+        this.userRepository = userRepository;
+        this.parentChildRepository = parentChildRepository;
+        this.entityManager = entityManager;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.maxRows = maxRows;
+    }
+
+    @RequiresPermission(Permission.ADD_CHILD)
+    public ImportReportDTO importChildren(AuthenticatedUser loggedInUser, List<AddChildDTO> rows) throws ValidationException {
+        if (rows == null || rows.isEmpty()) {
+            throw new ValidationException("No children to import");
+        }
+        if (rows.size() > maxRows) {
+            throw new ValidationException("At most " + maxRows + " children can be imported at once");
+        }
+        final var start = System.nanoTime();
+
+        final List<ImportRowResultDTO> results = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            final var errors = validate(rows.get(i));
+            results.add(ImportRowResultDTO.builder()
+                    .row(i + 1)
+                    .status(errors.isEmpty() ? ImportRowResultDTO.Status.CREATED : ImportRowResultDTO.Status.REJECTED)
+                    .errors(errors.isEmpty() ? null : errors)
+                    .build());
+        }
+        rejectUnknownParents(rows, results);
+
+        final List<Integer> accepted = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            if (results.get(i).getStatus() == ImportRowResultDTO.Status.CREATED) {
+                accepted.add(i);
+            }
+        }
+        for (int from = 0; from < accepted.size(); from += chunkSize) {
+            insertChunk(rows, results, accepted.subList(from, Math.min(from + chunkSize, accepted.size())));
+        }
+
+        final var report = ImportReports.of(results, System.nanoTime() - start);
+        log.info("User {} imported {} children ({} rejected, {} failed) in {} ms", loggedInUser.getId(),
+                report.getCreated(), report.getRejected(), report.getFailed(), report.getElapsedMillis());
+        return report;
+    }
+
+    private void rejectUnknownParents(List<AddChildDTO> rows, List<ImportRowResultDTO> results) {
+        final Set<String> parentIds = new HashSet<>();
+        for (int i = 0; i < rows.size(); i++) {
+            if (results.get(i).getStatus() == ImportRowResultDTO.Status.CREATED) {
+                rows.get(i).getParents().forEach(parent -> parentIds.add(parent.getParentId()));
+            }
+        }
+        if (parentIds.isEmpty()) {
+            return;
+        }
+        final var existing = new HashSet<>(userRepository.findExistingIds(parentIds));
+        for (int i = 0; i < rows.size(); i++) {
+            final var result = results.get(i);
+            if (result.getStatus() != ImportRowResultDTO.Status.CREATED) {
+                continue;
+            }
+            final var errors = rows.get(i).getParents().stream()
+                    .map(AddChildDTO.ParentInfo::getParentId)
+                    .filter(parentId -> !existing.contains(parentId))
+                    .map(parentId -> "Parent not found with id: " + parentId)
+                    .toList();
+            if (!errors.isEmpty()) {
+                result.setStatus(ImportRowResultDTO.Status.REJECTED);
+                result.setErrors(errors);
+            }
+        }
+    }
+
+    private void insertChunk(List<AddChildDTO> rows, List<ImportRowResultDTO> results, List<Integer> chunk) {
+        try {
+            chunkTransaction.executeWithoutResult(status -> {
+                final List<Child> children = new ArrayList<>(chunk.size());
+                final List<ParentChild> links = new ArrayList<>();
+                for (final var index : chunk) {
+                    final var row = rows.get(index);
+                    final var child = Child.builder()
+                            .firstName(row.getFirstName().trim())
+                            .lastName(row.getLastName().trim())
+                            .dateOfBirth(row.getDateOfBirth())
+                            .status(UserStatus.ACTIVE)
+                            .build();
+                    children.add(child);
+                    for (final var parentInfo : row.getParents()) {
+                        // Parents were checked above, a reference avoids loading them again
+                        links.add(ParentChild.builder()
+                                .parent(entityManager.getReference(User.class, parentInfo.getParentId()))
+                                .child(child)
+                                .relation(parentInfo.getRelation().trim())
+                                .status(UserRoleStatus.ENABLED)
+                                .build());
+                    }
+                }
+                childRepository.saveAll(children);
+                parentChildRepository.saveAll(links);
+                entityManager.flush();
+                entityManager.clear();
+                for (int i = 0; i < chunk.size(); i++) {
+                    results.get(chunk.get(i)).setId(children.get(i).getId());
+                }
+            });
+        } catch (RuntimeException e) {
+            log.error("Failed to import children in rows {} to {}", chunk.get(0) + 1, chunk.get(chunk.size() - 1) + 1, e);
+            for (final var index : chunk) {
+                final var result = results.get(index);
+                result.setStatus(ImportRowResultDTO.Status.FAILED);
+                result.setId(null);
+                result.setErrors(List.of("Failed to save: " + e.getMessage()));
+            }
+        }
+    }
+
+    private static List<String> validate(AddChildDTO row) {
+        final List<String> errors = new ArrayList<>();
+        if (row == null) {
+            errors.add("Row is empty");
+            return errors;
+        }
+        validateName("firstName", row.getFirstName(), errors);
+        validateName("lastName", row.getLastName(), errors);
+        if (row.getDateOfBirth() == null) {
+            errors.add("dateOfBirth is required");
+        } else if (row.getDateOfBirth().isAfter(LocalDate.now())) {
+            errors.add("dateOfBirth is in the future");
+        }
+        if (row.getParents() == null || row.getParents().isEmpty()) {
+            errors.add("At least one parent is required");
+            return errors;
+        }
+        for (final var parent : row.getParents()) {
+            if (parent == null || !StringUtils.hasText(parent.getParentId())) {
+                errors.add("parentId is required");
+            } else if (!StringUtils.hasText(parent.getRelation())) {
+                errors.add("relation is required for parent " + parent.getParentId());
+            } else if (parent.getRelation().trim().length() > RELATION_LENGTH) {
+                errors.add("relation is longer than " + RELATION_LENGTH + " characters for parent " + parent.getParentId());
+            }
+        }
+        return errors;
+    }
+
+    private static void validateName(String field, String value, List<String> errors) {
+        if (!StringUtils.hasText(value)) {
+            errors.add(field + " is required");
+        } else if (value.trim().length() > NAME_LENGTH) {
+            errors.add(field + " is longer than " + NAME_LENGTH + " characters");
+        }
+    }
+}
@@ -1,5 +1,13 @@
 package com.school.service;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.school.authentication.AuthenticatedUser;
+import com.school.authentication.Permission;
+import com.school.authentication.RequiresPermission;
+import com.school.exceptions.ValidationException;
+import com.school.feature.users.dao.ChildExportRow;
 import com.school.feature.users.dao.IChildRepository;
 import com.school.feature.users.dao.IParentChildRepository;
 import com.school.feature.users.dao.IUserRepository;
@@ -10,31 +18,57 @@ import com.school.feature.users.entity.UserRoleStatus;
 import com.school.feature.users.entity.UserStatus;
 import com.school.web.dtos.AddChildDTO;
 import com.school.web.dtos.ChildDTO;
+import com.school.web.dtos.ChildPageDTO;
+import com.school.web.dtos.ChildQueryDTO;
 import com.school.web.utils.ChildDTOMapper;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class ChildService {
 
+    private static final JsonFactory EXPORT_JSON = new JsonFactory()
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
     private final IChildRepository childRepository;
     private final IUserRepository userRepository;
     private final IParentChildRepository parentChildRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int defaultPageSize;
+    private final int maxPageSize;
 
-    @Transactional
-    public ChildDTO addChild(User loggedInUser, AddChildDTO addChildDTO) {
-        final var user = userRepository.findById(loggedInUser.getId()).get();
-        if (!user.isAdmin()) {
-            return null;
-        }
+    public ChildService(IChildRepository childRepository,
+                        IUserRepository userRepository,
+                        IParentChildRepository parentChildRepository,
+                        PlatformTransactionManager transactionManager,
+                        @Value("${children.page-size:50}") int defaultPageSize,
+                        @Value("${children.max-page-size:200}") int maxPageSize) {
+        this.childRepository = childRepository;
+        this.userRepository = userRepository;
+        this.parentChildRepository = parentChildRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+    }
 
+    @Transactional
+    @RequiresPermission(Permission.ADD_CHILD)
+    public ChildDTO addChild(AuthenticatedUser loggedInUser, AddChildDTO addChildDTO) {
         // Create the child
         Child child = Child.builder()
                 .firstName(addChildDTO.getFirstName())
@@ -63,39 +97,145 @@ public class ChildService {
         return ChildDTOMapper.toDTO(child);
     }
 
-    public List<ChildDTO> getChildrenByParentId(User loggedInUser, String parentId) {
-        final var user = userRepository.findById(loggedInUser.getId()).get();
-        
-        // Allow if user is admin or if the user is requesting their own children
-        if (!user.isAdmin() && !user.getId().equals(parentId)) {
-            return null;
-        }
-        
-        List<ParentChild> parentChildRelations = parentChildRepository.findByParentId(parentId);
-        return parentChildRelations.stream()
-                .map(parentChild -> ChildDTOMapper.toDTO(parentChild.getChild()))
+    // Allow if user can view all children or if the user is requesting their own children
+    @Transactional(readOnly = true)
+    @RequiresPermission(value = Permission.VIEW_ALL_CHILDREN, ownerParam = "parentId")
+    public List<ChildDTO> getChildrenByParentId(AuthenticatedUser loggedInUser, String parentId) {
+        return childRepository.findByParentIdAndLinkStatus(parentId, UserRoleStatus.ENABLED).stream()
+                .map(ChildDTOMapper::toDTO)
                 .collect(Collectors.toList());
     }
 
-    public List<ChildDTO> getAllChildren(User loggedInUser) {
-        final var user = userRepository.findById(loggedInUser.getId()).get();
-        if (!user.isAdmin()) {
-            return null;
+    /**
+     * Returns one page of children in {@code (created, id)} order, which stays stable while children are added.
+     */
+    @Transactional(readOnly = true)
+    @RequiresPermission(Permission.VIEW_ALL_CHILDREN)
+    public ChildPageDTO getAllChildren(AuthenticatedUser loggedInUser, ChildQueryDTO query) throws ValidationException {
+        final var cursor = ChildCursor.decode(query.getCursor());
+        final var pageSize = pageSize(query.getLimit());
+        final var namePrefix = StringUtils.hasText(query.getNamePrefix())
+                ? escapeLike(query.getNamePrefix()) + "%"
+                : null;
+
+        // Read one extra row to learn whether there is a next page without a count query
+        final var children = childRepository.findPage(cursor.created(), cursor.id(), query.getStatus(), namePrefix,
+                Limit.of(pageSize + 1));
+        String nextCursor = null;
+        if (children.size() > pageSize) {
+            children.subList(pageSize, children.size()).clear();
+            final var last = children.get(pageSize - 1);
+            nextCursor = new ChildCursor(last.getCreated(), last.getId()).encode();
         }
-        
-        return childRepository.findAll().stream()
-                .map(ChildDTOMapper::toDTO)
-                .collect(Collectors.toList());
+        return ChildPageDTO.builder()
+                .children(children.stream()
+                        .map(ChildDTOMapper::toDTO)
+                        .collect(Collectors.toList()))
+                .nextCursor(nextCursor)
+                .build();
     }
 
-    public ChildDTO getChildById(User loggedInUser, String childId) {
-        final var user = userRepository.findById(loggedInUser.getId()).get();
-        if (!user.isAdmin()) {
-            return null;
+    /**
+     * Returns a body that writes every child as one NDJSON line with its parent links nested. Rows are streamed from
+     * MySQL and written as they arrive, so memory use does not depend on the size of the roster.
+     */
+    @RequiresPermission(Permission.VIEW_ALL_CHILDREN)
+    public StreamingResponseBody exportChildren(AuthenticatedUser loggedInUser) {
+        return outputStream -> writeExport(outputStream, loggedInUser.getId());
+    }
+
+    void writeExport(OutputStream outputStream, String requestedBy) throws IOException {
+        try (final var generator = EXPORT_JSON.createGenerator(outputStream)) {
+            generator.setRootValueSeparator(new SerializedString("\n"));
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (final var rows = childRepository.streamExportRows()) {
+                    final var exported = new ChildExportWriter(generator);
+                    rows.forEach(exported::write);
+                    exported.finish();
+                    log.info("Exported {} children for user {}", exported.children, requestedBy);
+                }
+            });
+            generator.writeRaw('\n');
         }
-        
+    }
+
+    private int pageSize(Integer limit) throws ValidationException {
+        if (limit == null) {
+            return defaultPageSize;
+        }
+        if (limit < 1 || limit > maxPageSize) {
+            throw new ValidationException("limit must be between 1 and " + maxPageSize);
+        }
+        return limit;
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+
+    @Transactional(readOnly = true)
+    @RequiresPermission(Permission.VIEW_ALL_CHILDREN)
+    public ChildDTO getChildById(AuthenticatedUser loggedInUser, String childId) {
         Child child = childRepository.findById(childId)
                 .orElseThrow(() -> new RuntimeException("Child not found with id: " + childId));
         return ChildDTOMapper.toDTO(child);
     }
-} 
\ No newline at end of file
+
+    /**
+     * Writes consecutive rows of the same child as one JSON object with a {@code parents} array.
+     */
+    private static final class ChildExportWriter {
+
+        private final JsonGenerator generator;
+        private String currentChildId;
+        private long children;
+
+        private ChildExportWriter(JsonGenerator generator) {
+            this.generator = generator;
+        }
+
+        void write(ChildExportRow row) {
+            try {
+                if (!row.id().equals(currentChildId)) {
+                    finish();
+                    startChild(row);
+                }
+                if (row.parentId() != null) {
+                    generator.writeStartObject();
+                    generator.writeStringField("parentId", row.parentId());
+                    generator.writeStringField("relation", row.relation());
+                    generator.writeStringField("status", row.relationStatus().name());
+                    generator.writeEndObject();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void finish() {
+            if (currentChildId == null) {
+                return;
+            }
+            try {
+                generator.writeEndArray();
+                generator.writeEndObject();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            currentChildId = null;
+        }
+
+        private void startChild(ChildExportRow row) throws IOException {
+            currentChildId = row.id();
+            children++;
+            generator.writeStartObject();
+            generator.writeStringField("id", row.id());
+            generator.writeStringField("firstName", row.firstName());
+            generator.writeStringField("lastName", row.lastName());
+            generator.writeStringField("dateOfBirth", row.dateOfBirth().toString());
+            generator.writeStringField("status", row.status().name());
+            generator.writeStringField("created", row.created().toString());
+            generator.writeArrayFieldStart("parents");
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.school.service;
+
+import com.school.authentication.AuthenticatedUser;
+import com.school.authentication.Permission;
+import com.school.authentication.RequiresPermission;
+import com.school.exceptions.ValidationException;
+import com.school.feature.report.dao.IDailyReportRepository;
+import com.school.feature.report.entity.DailyReport;
+import com.school.feature.users.dao.IChildRepository;
+import com.school.feature.users.dao.IUserRepository;
+import com.school.web.dtos.ClassroomReportDTO;
+import com.school.web.dtos.DailyReportDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Records the daily reports of a classroom in one call. The whole submission is validated and its children are
+ * checked with a single query before anything is written; the reports are then written in one transaction as one
+ * batched upsert, so submitting again for the same date corrects the earlier reports, and the children's
+ * {@link MonthlyReportService monthly rollups} are updated in the same transaction. If any report is invalid none
+ * are written.
+ * <p>
+ * The children are checked with {@link IChildRepository#lockExistingIds}, so submissions that share a child run one
+ * after the other. The transaction is {@code READ COMMITTED}: the reports being replaced are then read without locks
+ * yet still see the last submission that held the children, and no gap locks are taken for reports that do not
+ * exist yet.
+ */
+@Service
+@Slf4j
+public class DailyReportService {
+
+    static final int MAX_MEALS = 10;
+    static final int MAX_NAP_MINUTES = 24 * 60;
+    static final int NOTES_LENGTH = 2000;
+
+    private final IDailyReportRepository dailyReportRepository;
+    private final IChildRepository childRepository;
+    private final IUserRepository userRepository;
+    private final MonthlyReportService monthlyReportService;
+    private final int maxBatchSize;
+
+    public DailyReportService(IDailyReportRepository dailyReportRepository,
+                              IChildRepository childRepository,
+                              IUserRepository userRepository,
+                              MonthlyReportService monthlyReportService,
+                              @Value("${reports.daily.max-batch-size:100}") int maxBatchSize) {
+        this.dailyReportRepository = dailyReportRepository;
+        this.childRepository = childRepository;
+        this.userRepository = userRepository;
+        this.monthlyReportService = monthlyReportService;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Returns the number of reports written.
+     */
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    @RequiresPermission(Permission.SUBMIT_DAILY_REPORT)
+    public Integer submitClassroom(AuthenticatedUser loggedInUser, ClassroomReportDTO submission) throws ValidationException {
+        final var reports = submission == null ? null : submission.getReports();
+        if (reports == null || reports.isEmpty()) {
+            throw new ValidationException("No reports to submit");
+        }
+        if (reports.size() > maxBatchSize) {
+            throw new ValidationException("At most " + maxBatchSize + " reports can be submitted at once");
+        }
+        final var date = submission.getDate();
+        if (date == null) {
+            throw new ValidationException("date is required");
+        }
+        if (date.isAfter(LocalDate.now())) {
+            throw new ValidationException("date is in the future");
+        }
+
+        final List<String> errors = new ArrayList<>();
+        final Set<String> childIds = new HashSet<>();
+        for (int i = 0; i < reports.size(); i++) {
+            validate(i, reports.get(i), childIds, errors);
+        }
+        if (!childIds.isEmpty()) {
+            final var existing = new HashSet<>(childRepository.lockExistingIds(childIds));
+            childIds.stream()
+                    .filter(childId -> !existing.contains(childId))
+                    .sorted()
+                    .forEach(childId -> errors.add("Child not found with id: " + childId));
+        }
+        if (!errors.isEmpty()) {
+            throw new ValidationException(String.join("; ", errors));
+        }
+
+        final var reportedBy = userRepository.getReferenceById(loggedInUser.getId());
+        final var written = reports.stream()
+                .map(report -> DailyReport.builder()
+                        .child(childRepository.getReferenceById(report.getChildId()))
+                        .reportDate(date)
+                        .present(!Boolean.FALSE.equals(report.getPresent()))
+                        .mealsEaten(Objects.requireNonNullElse(report.getMealsEaten(), 0))
+                        .napMinutes(Objects.requireNonNullElse(report.getNapMinutes(), 0))
+                        .mood(report.getMood())
+                        .notes(StringUtils.hasText(report.getNotes()) ? report.getNotes().trim() : null)
+                        .reportedBy(reportedBy)
+                        .build())
+                .toList();
+        final var replaced = dailyReportRepository.upsertAll(written);
+        monthlyReportService.applyDailyChanges(replaced, written);
+        log.info("User {} submitted {} daily reports for {}", loggedInUser.getId(), reports.size(), date);
+        return reports.size();
+    }
+
+    private static void validate(int index, DailyReportDTO report, Set<String> childIds, List<String> errors) {
+        final var prefix = "reports[" + index + "]: ";
+        if (report == null) {
+            errors.add(prefix + "report is empty");
+            return;
+        }
+        if (!StringUtils.hasText(report.getChildId())) {
+            errors.add(prefix + "childId is required");
+        } else if (!childIds.add(report.getChildId())) {
+            errors.add(prefix + "child " + report.getChildId() + " is reported more than once");
+        }
+        if (report.getMealsEaten() != null && (report.getMealsEaten() < 0 || report.getMealsEaten() > MAX_MEALS)) {
+            errors.add(prefix + "mealsEaten must be between 0 and " + MAX_MEALS);
+        }
+        if (report.getNapMinutes() != null && (report.getNapMinutes() < 0 || report.getNapMinutes() > MAX_NAP_MINUTES)) {
+            errors.add(prefix + "napMinutes must be between 0 and " + MAX_NAP_MINUTES);
+        }
+        if (report.getNotes() != null && report.getNotes().trim().length() > NOTES_LENGTH) {
+            errors.add(prefix + "notes must be at most " + NOTES_LENGTH + " characters");
+        }
+    }
+}
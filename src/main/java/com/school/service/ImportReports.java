@@ -0,0 +1,36 @@
+package com.school.service;
+
+import com.school.web.dtos.ImportReportDTO;
+import com.school.web.dtos.ImportRowResultDTO;
+
+import java.util.List;
+
+/**
+ * Summarises the per-row results of a bulk import.
+ */
+final class ImportReports {
+
+    private ImportReports() {
+    }
+
+    static ImportReportDTO of(List<ImportRowResultDTO> results, long elapsedNanos) {
+        var created = 0;
+        var rejected = 0;
+        var failed = 0;
+        for (final var result : results) {
+            switch (result.getStatus()) {
+                case CREATED -> created++;
+                case REJECTED -> rejected++;
+                case FAILED -> failed++;
+            }
+        }
+        return ImportReportDTO.builder()
+                .created(created)
+                .rejected(rejected)
+                .failed(failed)
+                .elapsedMillis(elapsedNanos / 1_000_000)
+                .rowsPerSecond(elapsedNanos == 0 ? 0 : created / (elapsedNanos / 1e9))
+                .rows(results)
+                .build();
+    }
+}
@@ -0,0 +1,36 @@
+package com.school.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Rebuilds the current and the previous month every {@code reports.monthly.reconcile-interval}. Corrections are
+ * logged, as they point to a write that bypassed {@link MonthlyReportService}. Nothing coordinates the instances, so
+ * it only runs where {@code reports.monthly.reconcile-enabled=true}, which should be a single instance.
+ */
+@Component
+@ConditionalOnProperty(name = "reports.monthly.reconcile-enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class MonthlyReportReconciler {
+
+    private final MonthlyReportService monthlyReportService;
+
+    @Scheduled(fixedDelayString = "${reports.monthly.reconcile-interval:PT6H}", initialDelayString = "${reports.monthly.reconcile-interval:PT6H}")
+    public void reconcile() {
+        final var month = YearMonth.now();
+        // Reports are still corrected for a while after the month has ended
+        for (final var reconciled : List.of(month.minusMonths(1), month)) {
+            final var corrected = monthlyReportService.rebuild(reconciled);
+            if (corrected > 0) {
+                log.warn("Reconciliation corrected {} monthly reports for {}", corrected, reconciled);
+            }
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.school.service;
+
+import com.school.authentication.AuthenticatedUser;
+import com.school.authentication.Permission;
+import com.school.authentication.RequiresPermission;
+import com.school.exceptions.ValidationException;
+import com.school.feature.report.dao.IMonthlyReportRepository;
+import com.school.feature.report.entity.DailyReport;
+import com.school.feature.report.entity.MonthlyReport;
+import com.school.feature.users.dao.IChildRepository;
+import com.school.feature.users.entity.Child;
+import com.school.web.dtos.MonthlyReportDTO;
+import com.school.web.utils.MonthlyReportDTOMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps a {@link MonthlyReport} per child and month. Every write of daily reports adds the difference it makes to
+ * the rollups in the same transaction, so a month is read as one row. Writers lock the children's rows before they
+ * read the daily reports being replaced, so concurrent submissions for a child cannot both count the same day.
+ * <p>
+ * {@link #rebuild(YearMonth)} recomputes a month from {@code daily_report} and corrects the rollups that differ. It
+ * walks the children in id order, {@code reports.monthly.rebuild-batch-size} at a time, each batch in its own
+ * {@code READ COMMITTED} transaction that holds the batch's children, so that submissions wait only briefly.
+ * {@link MonthlyReportReconciler} runs it on a schedule where that is enabled.
+ */
+@Service
+@Slf4j
+public class MonthlyReportService {
+
+    private final IMonthlyReportRepository monthlyReportRepository;
+    private final IChildRepository childRepository;
+    private final TransactionTemplate batchTransaction;
+    private final int batchSize;
+
+    public MonthlyReportService(IMonthlyReportRepository monthlyReportRepository,
+                                IChildRepository childRepository,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${reports.monthly.rebuild-batch-size:500}") int batchSize) {
+        this.monthlyReportRepository = monthlyReportRepository;
+        this.childRepository = childRepository;
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+        this.batchTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Applies to the rollups the change from the {@code replaced} daily reports to the {@code written} ones. Must run
+     * in the transaction that wrote them.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void applyDailyChanges(List<DailyReport> replaced, List<DailyReport> written) {
+        final Map<String, MonthlyReport> deltas = new LinkedHashMap<>();
+        written.forEach(report -> add(deltas, report, 1));
+        replaced.forEach(report -> add(deltas, report, -1));
+        monthlyReportRepository.addAll(deltas.values().stream()
+                .filter(delta -> !isEmpty(delta))
+                .toList());
+    }
+
+    @Transactional(readOnly = true)
+    @RequiresPermission(Permission.VIEW_ALL_CHILDREN)
+    public MonthlyReportDTO getMonthlyReport(AuthenticatedUser loggedInUser, String childId, YearMonth month) throws ValidationException {
+        final var report = monthlyReportRepository.findByChildIdAndReportMonth(childId, month.atDay(1));
+        if (report.isPresent()) {
+            return MonthlyReportDTOMapper.toDTO(report.get());
+        }
+        if (!childRepository.existsById(childId)) {
+            throw new ValidationException("Child not found with id: " + childId);
+        }
+        // Nothing has been reported for the child in that month
+        return MonthlyReportDTOMapper.toDTO(MonthlyReport.builder()
+                .child(Child.builder().id(childId).build())
+                .reportMonth(month.atDay(1))
+                .build());
+    }
+
+    /**
+     * Returns the number of rollups that were corrected.
+     */
+    @RequiresPermission(Permission.REBUILD_MONTHLY_REPORTS)
+    public Integer rebuildMonth(AuthenticatedUser loggedInUser, YearMonth month) {
+        final var corrected = rebuild(month);
+        log.info("User {} rebuilt monthly reports for {}, {} corrected", loggedInUser.getId(), month, corrected);
+        return corrected;
+    }
+
+    int rebuild(YearMonth month) {
+        var total = 0;
+        var after = "";
+        List<String> childIds;
+        do {
+            childIds = childRepository.findIdsAfter(after, Limit.of(batchSize));
+            if (childIds.isEmpty()) {
+                break;
+            }
+            final var batch = childIds;
+            total += Objects.requireNonNull(batchTransaction.execute(status -> rebuildBatch(batch, month)));
+            after = childIds.get(childIds.size() - 1);
+        } while (childIds.size() == batchSize);
+        return total;
+    }
+
+    private int rebuildBatch(List<String> childIds, YearMonth month) {
+        childRepository.lockExistingIds(childIds);
+        final var totals = monthlyReportRepository.sumDailyReports(childIds, month);
+        final Map<String, MonthlyReport> stored = monthlyReportRepository.findByChildIdsAndReportMonth(childIds, month.atDay(1))
+                .stream()
+                .collect(Collectors.toMap(report -> report.getChild().getId(), Function.identity()));
+
+        final List<MonthlyReport> changed = new ArrayList<>();
+        for (final var total : totals) {
+            final var current = stored.remove(total.getChild().getId());
+            if (current == null || !sameCounts(current, total)) {
+                changed.add(total);
+            }
+        }
+        // Whatever is left has no daily reports in the month any more
+        final var stale = stored.values().stream()
+                .map(MonthlyReport::getId)
+                .toList();
+        monthlyReportRepository.replaceAll(changed);
+        if (!stale.isEmpty()) {
+            monthlyReportRepository.deleteByIds(stale);
+        }
+        return changed.size() + stale.size();
+    }
+
+    private static void add(Map<String, MonthlyReport> deltas, DailyReport report, int sign) {
+        final var month = YearMonth.from(report.getReportDate()).atDay(1);
+        final var delta = deltas.computeIfAbsent(report.getChild().getId() + "/" + month, key -> MonthlyReport.builder()
+                .child(report.getChild())
+                .reportMonth(month)
+                .build());
+        delta.setDaysReported(delta.getDaysReported() + sign);
+        delta.setDaysPresent(delta.getDaysPresent() + (report.isPresent() ? sign : 0));
+        delta.setMealsEaten(delta.getMealsEaten() + sign * report.getMealsEaten());
+        delta.setNapMinutes(delta.getNapMinutes() + sign * report.getNapMinutes());
+        delta.setNotesCount(delta.getNotesCount() + (report.getNotes() != null ? sign : 0));
+    }
+
+    private static boolean isEmpty(MonthlyReport report) {
+        return sameCounts(report, new MonthlyReport());
+    }
+
+    private static boolean sameCounts(MonthlyReport a, MonthlyReport b) {
+        return a.getDaysReported() == b.getDaysReported()
+                && a.getDaysPresent() == b.getDaysPresent()
+                && a.getMealsEaten() == b.getMealsEaten()
+                && a.getNapMinutes() == b.getNapMinutes()
+                && a.getNotesCount() == b.getNotesCount();
+    }
+}
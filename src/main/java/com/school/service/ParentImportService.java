@@ -0,0 +1,225 @@
+package com.school.service;
+
+import com.school.authentication.AuthenticatedUser;
+import com.school.authentication.PasswordHasher;
+import com.school.authentication.Permission;
+import com.school.authentication.RequiresPermission;
+import com.school.exceptions.ValidationException;
+import com.school.feature.users.dao.IRoleRepository;
+import com.school.feature.users.dao.IUserRepository;
+import com.school.feature.users.entity.Role;
+import com.school.feature.users.entity.User;
+import com.school.feature.users.entity.UserRole;
+import com.school.feature.users.entity.UserRoleId;
+import com.school.feature.users.entity.UserStatus;
+import com.school.web.dtos.ImportReportDTO;
+import com.school.web.dtos.ImportRowResultDTO;
+import com.school.web.dtos.UserDTO;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Creates many parents in one call. Rows are validated and every email is checked against {@code user} with a single
+ * query before anything is written, and the PARENT role is read once. Valid rows are then handled in chunks of
+ * {@code parents.import.chunk-size}: the chunk's passwords are hashed in parallel on the
+ * {@link PasswordHasher} bulk pool, outside any transaction, and its {@code user} and {@code user_role} rows are
+ * inserted in JDBC batches in one transaction.
+ */
+@Service
+@Slf4j
+public class ParentImportService {
+
+    private static final int NAME_LENGTH = 100;
+    private static final int EMAIL_LENGTH = 100;
+
+    private final IUserRepository userRepository;
+    private final IRoleRepository roleRepository;
+    private final PasswordHasher passwordHasher;
+    private final EntityManager entityManager;
+    private final TransactionTemplate chunkTransaction;
+    private final int chunkSize;
+    private final int maxRows;
+
+    public ParentImportService(IUserRepository userRepository,
+                               IRoleRepository roleRepository,
+                               PasswordHasher passwordHasher,
+                               EntityManager entityManager,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${parents.import.chunk-size:200}") int chunkSize,
+                               @Value("${parents.import.max-rows:5000}") int maxRows) {
+        this.userRepository = userRepository;
+        this.roleRepository = roleRepository;
+        this.passwordHasher = passwordHasher;
+        this.entityManager = entityManager;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.maxRows = maxRows;
+    }
+
+    @RequiresPermission(Permission.CREATE_USER)
+    public ImportReportDTO importParents(AuthenticatedUser loggedInUser, List<UserDTO> rows) throws ValidationException {
+        if (rows == null || rows.isEmpty()) {
+            throw new ValidationException("No parents to import");
+        }
+        if (rows.size() > maxRows) {
+            throw new ValidationException("At most " + maxRows + " parents can be imported at once");
+        }
+        final var start = System.nanoTime();
+
+        final List<ImportRowResultDTO> results = new ArrayList<>(rows.size());
+        final Map<String, Integer> firstRowByEmail = new HashMap<>();
+        for (int i = 0; i < rows.size(); i++) {
+            final var errors = validate(rows.get(i));
+            if (errors.isEmpty()) {
+                final var previous = firstRowByEmail.putIfAbsent(normalize(rows.get(i).getEmail()), i + 1);
+                if (previous != null) {
+                    errors.add("Email also used in row " + previous);
+                }
+            }
+            results.add(ImportRowResultDTO.builder()
+                    .row(i + 1)
+                    .status(errors.isEmpty() ? ImportRowResultDTO.Status.CREATED : ImportRowResultDTO.Status.REJECTED)
+                    .errors(errors.isEmpty() ? null : errors)
+                    .build());
+        }
+        rejectExistingEmails(rows, results);
+
+        final List<Integer> accepted = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            if (results.get(i).getStatus() == ImportRowResultDTO.Status.CREATED) {
+                accepted.add(i);
+            }
+        }
+        if (!accepted.isEmpty()) {
+            final var parentRole = roleRepository.findByName("PARENT");
+            for (int from = 0; from < accepted.size(); from += chunkSize) {
+                insertChunk(rows, results, accepted.subList(from, Math.min(from + chunkSize, accepted.size())),
+                        parentRole.getId());
+            }
+        }
+
+        final var report = ImportReports.of(results, System.nanoTime() - start);
+        log.info("User {} imported {} parents ({} rejected, {} failed) in {} ms, {} rows/s", loggedInUser.getId(),
+                report.getCreated(), report.getRejected(), report.getFailed(), report.getElapsedMillis(),
+                String.format("%.1f", report.getRowsPerSecond()));
+        return report;
+    }
+
+    private void rejectExistingEmails(List<UserDTO> rows, List<ImportRowResultDTO> results) {
+        final List<String> emails = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            if (results.get(i).getStatus() == ImportRowResultDTO.Status.CREATED) {
+                emails.add(rows.get(i).getEmail().trim());
+            }
+        }
+        if (emails.isEmpty()) {
+            return;
+        }
+        final Set<String> existing = new HashSet<>();
+        userRepository.findExistingEmails(emails).forEach(email -> existing.add(normalize(email)));
+        for (int i = 0; i < rows.size(); i++) {
+            final var result = results.get(i);
+            if (result.getStatus() == ImportRowResultDTO.Status.CREATED
+                    && existing.contains(normalize(rows.get(i).getEmail()))) {
+                result.setStatus(ImportRowResultDTO.Status.REJECTED);
+                result.setErrors(List.of("A user with this email already exists"));
+            }
+        }
+    }
+
+    private void insertChunk(List<UserDTO> rows, List<ImportRowResultDTO> results, List<Integer> chunk, String parentRoleId) {
+        try {
+            final var hashes = passwordHasher.hashAll(chunk.stream()
+                    .map(index -> rows.get(index).getPassword())
+                    .toList());
+            chunkTransaction.executeWithoutResult(status -> {
+                final List<User> parents = new ArrayList<>(chunk.size());
+                for (int i = 0; i < chunk.size(); i++) {
+                    final var row = rows.get(chunk.get(i));
+                    final var parent = User.builder()
+                            .email(row.getEmail().trim())
+                            .password(hashes.get(i))
+                            .userStatus(UserStatus.ACTIVE)
+                            .firstName(row.getFirstName().trim())
+                            .lastName(row.getLastName().trim())
+                            .build();
+                    // Persisted through the cascade from User, so no lookup is made for the new composite id
+                    parent.getUserRoles().add(UserRole.builder()
+                            .id(UserRoleId.builder()
+                                    .roleId(parentRoleId)
+                                    .build())
+                            .user(parent)
+                            .role(entityManager.getReference(Role.class, parentRoleId))
+                            .build());
+                    parents.add(parent);
+                }
+                userRepository.saveAll(parents);
+                entityManager.flush();
+                entityManager.clear();
+                for (int i = 0; i < chunk.size(); i++) {
+                    results.get(chunk.get(i)).setId(parents.get(i).getId());
+                }
+            });
+        } catch (RuntimeException e) {
+            log.error("Failed to import parents in rows {} to {}", chunk.get(0) + 1, chunk.get(chunk.size() - 1) + 1, e);
+            for (final var index : chunk) {
+                final var result = results.get(index);
+                result.setStatus(ImportRowResultDTO.Status.FAILED);
+                result.setId(null);
+                result.setErrors(List.of("Failed to save: " + e.getMessage()));
+            }
+        }
+    }
+
+    private static List<String> validate(UserDTO row) {
+        final List<String> errors = new ArrayList<>();
+        if (row == null) {
+            errors.add("Row is empty");
+            return errors;
+        }
+        validateText("firstName", row.getFirstName(), NAME_LENGTH, errors);
+        validateText("lastName", row.getLastName(), NAME_LENGTH, errors);
+        validateText("email", row.getEmail(), EMAIL_LENGTH, errors);
+        validatePassword(row.getPassword(), errors);
+        if (StringUtils.hasText(row.getEmail()) && row.getEmail().indexOf('@') < 1) {
+            errors.add("email is not valid");
+        }
+        return errors;
+    }
+
+    private static void validateText(String field, String value, int maxLength, List<String> errors) {
+        if (!StringUtils.hasText(value)) {
+            errors.add(field + " is required");
+        } else if (value.trim().length() > maxLength) {
+            errors.add(field + " is longer than " + maxLength + " characters");
+        }
+    }
+
+    private static void validatePassword(String password, List<String> errors) {
+        // Hashed as given, so unlike the other fields it is measured untrimmed
+        if (!StringUtils.hasText(password)) {
+            errors.add("password is required");
+        } else if (password.getBytes(StandardCharsets.UTF_8).length > UserService.PASSWORD_LENGTH) {
+            errors.add("password is longer than " + UserService.PASSWORD_LENGTH + " bytes");
+        }
+    }
+
+    private static String normalize(String email) {
+        // user.email uses a case-insensitive collation
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+}
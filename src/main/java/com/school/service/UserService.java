@@ -1,7 +1,14 @@
 package com.school.service;
 
+import com.school.authentication.AuthenticatedUser;
+import com.school.authentication.AuthService;
+import com.school.authentication.PasswordHasher;
+import com.school.authentication.Permission;
+import com.school.authentication.RequiresPermission;
 import com.school.authentication.TokenUtils;
 import com.school.exceptions.InvalidCredentialsException;
+import com.school.exceptions.ServiceUnavailableException;
+import com.school.exceptions.ValidationException;
 import com.school.feature.users.dao.IRoleRepository;
 import com.school.feature.users.dao.IUserRepository;
 import com.school.feature.users.dao.IUserRoleRepository;
@@ -11,101 +18,193 @@ import com.school.web.common.Error;
 import com.school.web.common.Response;
 import com.school.web.dtos.LogInLogOutDTO;
 import com.school.web.dtos.UserDTO;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.bcrypt.BCrypt;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.List;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class UserService {
 
+    /** BCrypt only looks at the first 72 bytes of a password. */
+    static final int PASSWORD_LENGTH = 72;
+
     private final IUserRepository userRepository;
     private final IRoleRepository roleRepository;
     private final IUserSessionRepository userSessionRepository;
     private final IUserRoleRepository userRoleRepository;
+    private final AuthService authService;
+    private final PasswordHasher passwordHasher;
+    private final TransactionTemplate writeTransaction;
+
+    public UserService(IUserRepository userRepository,
+                       IRoleRepository roleRepository,
+                       IUserSessionRepository userSessionRepository,
+                       IUserRoleRepository userRoleRepository,
+                       AuthService authService,
+                       PasswordHasher passwordHasher,
+                       PlatformTransactionManager transactionManager) {
+        this.userRepository = userRepository;
+        this.roleRepository = roleRepository;
+        this.userSessionRepository = userSessionRepository;
+        this.userRoleRepository = userRoleRepository;
+        this.authService = authService;
+        this.passwordHasher = passwordHasher;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+    }
 
     public User getUserByEmail(String email) {
         return userRepository.findByEmail(email)
                 .orElse(null);
     }
 
-    public UserSession validateUser(LogInLogOutDTO logInDTO) throws InvalidCredentialsException {
-        final var user = getUserByEmail(logInDTO.getEmail());
-        if (user == null) {
+    public UserSession validateUser(LogInLogOutDTO logInDTO) throws InvalidCredentialsException, ServiceUnavailableException {
+        final var userLogin = userRepository.findForLogin(logInDTO.getEmail()).orElse(null);
+        if (userLogin == null) {
             throw new InvalidCredentialsException("Invalid credentials");
         }
 
-        if (!BCrypt.checkpw(logInDTO.getPassword(), user.getPassword())) {
+        final var user = userLogin.user();
+        if (!passwordHasher.matches(logInDTO.getPassword(), user.getPassword())
+                || user.getUserStatus() == UserStatus.DISABLED) {
             throw new InvalidCredentialsException("Invalid credentials");
         }
-
-        var userSession = userSessionRepository.findByUserIdAndActive(user.getId(), true);
+        rehashIfNeeded(user, logInDTO.getPassword());
+
+        final var now = Instant.now();
+        var userSession = userLogin.activeSession();
+        if (userSession != null && authService.isExpired(userSession, now)) {
+            userSessionRepository.deactivate(userSession.getToken(), now);
+            authService.revoke(userSession.getToken());
+            userSession = null;
+        }
         if (userSession != null) {
             return userSession;
         }
 
-        userSession = UserSession.builder()
-                .active(true)
-                .token(TokenUtils.generateToken(32))
+        final var token = TokenUtils.generateToken(32);
+        if (userSessionRepository.insertActiveIfAbsent(token, user.getId(), now) == 0) {
+            // A concurrent login for the same user inserted first; converge on its session
+            userSession = userSessionRepository.findByUserIdAndActive(user.getId(), true);
+            if (userSession == null) {
+                throw new IllegalStateException("Could not create a session for user " + user.getId());
+            }
+            userSession.setUser(user);
+            return userSession;
+        }
+        return UserSession.builder()
+                .token(token)
                 .user(user)
+                .active(true)
+                .created(now)
+                .updated(now)
+                .lastAccessed(now)
+                .newSession(false)
                 .build();
-        userSessionRepository.saveAndFlush(userSession);
-        return userSession;
+    }
+
+    private void rehashIfNeeded(User user, String password) {
+        if (!passwordHasher.needsRehash(user.getPassword())) {
+            return;
+        }
+        try {
+            userRepository.updatePassword(user.getId(), passwordHasher.hash(password));
+        } catch (ServiceUnavailableException e) {
+            // The login already succeeded; the upgrade is retried on the next one
+            log.debug("Skipping password rehash for user {}: {}", user.getId(), e.getMessage());
+        }
     }
 
     public boolean invalidateSession(String token) {
-        final var userSession = userSessionRepository.findById(token).orElse(null);
-        if (userSession == null) {
+        final var sessionToken = authService.sessionToken(token).orElse(null);
+        if (sessionToken == null) {
             log.warn("Session not found for token {}", token);
             return true;
         }
 
-        if (!userSession.isActive()) {
-            log.warn("Session is already deactivated for token {}", token);
-            return true;
+        if (userSessionRepository.deactivate(sessionToken, Instant.now()) == 0) {
+            log.warn("Session not found or already deactivated for token {}", token);
         }
-
-        userSession.setActive(false);
-        userSessionRepository.save(userSession);
+        authService.revoke(sessionToken);
         return true;
+    }
 
+    /**
+     * Logs the user out everywhere: deactivates all their sessions in one statement and drops them from memory.
+     * Returns the number of sessions deactivated.
+     */
+    @RequiresPermission(value = Permission.DISABLE_USER, ownerParam = "userId")
+    public Integer revokeAllSessions(AuthenticatedUser loggedInUser, String userId) {
+        return revokeSessions(userId, Instant.now());
     }
 
+    /**
+     * Marks the user {@link UserStatus#DISABLED}, so they can no longer log in, and revokes all their sessions.
+     * Returns the number of sessions deactivated.
+     */
     @Transactional
-    public User addParent(User loggedInUser, UserDTO parentDTO) {
-        final var user = userRepository.findById(loggedInUser.getId()).get();
-        if (!user.isAdmin()) {
-            return null;
+    @RequiresPermission(Permission.DISABLE_USER)
+    public Integer disableUser(AuthenticatedUser loggedInUser, String userId) throws ValidationException {
+        final var now = Instant.now();
+        if (userRepository.updateStatus(userId, UserStatus.DISABLED, now) == 0) {
+            throw new ValidationException("User not found: " + userId);
         }
+        return revokeSessions(userId, now);
+    }
 
-        final var parentRole = roleRepository.findByName("PARENT");
+    private int revokeSessions(String userId, Instant now) {
+        final var deactivated = userSessionRepository.deactivateAllForUser(userId, now);
+        authService.revokeUser(userId, now);
+        return deactivated;
+    }
 
-        final var parent = User.builder()
-                .email(parentDTO.getEmail())
-                .password("password")
-                .userStatus(UserStatus.ACTIVE)
-                .firstName(parentDTO.getFirstName())
-                .lastName(parentDTO.getLastName())
+    /**
+     * Creates a parent with the password they were given. The password is hashed before the transaction opens, so a
+     * slow hash never holds a connection; the {@code user} and {@code user_role} rows are then written together.
+     */
+    @RequiresPermission(Permission.CREATE_USER)
+    public User addParent(AuthenticatedUser loggedInUser, UserDTO parentDTO)
+            throws ValidationException, ServiceUnavailableException {
+        final var password = parentDTO.getPassword();
+        if (!StringUtils.hasText(password)) {
+            throw new ValidationException("password is required");
+        }
+        if (password.getBytes(StandardCharsets.UTF_8).length > PASSWORD_LENGTH) {
+            throw new ValidationException("password is longer than " + PASSWORD_LENGTH + " bytes");
+        }
+        final var passwordHash = passwordHasher.hash(password);
+
+        return writeTransaction.execute(status -> {
+            final var parentRole = roleRepository.findByName("PARENT");
+            final var parent = User.builder()
+                    .email(parentDTO.getEmail())
+                    .password(passwordHash)
+                    .userStatus(UserStatus.ACTIVE)
+                    .firstName(parentDTO.getFirstName())
+                    .lastName(parentDTO.getLastName())
+                    .build();
+            userRepository.save(parent);
+
+            final var userParentRole = UserRole.builder()
+                .role(parentRole)
+                .user(parent)
+                .id(UserRoleId.builder()
+                    .roleId(parentRole.getId())
+                    .userId(parent.getId())
+                    .build())
                 .build();
-        userRepository.save(parent);
-
-        final var userParentRole = UserRole.builder()
-            .role(parentRole)
-            .user(parent)
-            .id(UserRoleId.builder()
-                .roleId(parentRole.getId())
-                .userId(parent.getId())
-                .build())
-            .build();
-        userRoleRepository.save(userParentRole);
-
-        return parent;
+            userRoleRepository.save(userParentRole);
+
+            return parent;
+        });
     }
 }
@@ -17,4 +17,5 @@ public class Response<T> {
     public Error error;
     public List<Error> errors;
     public HttpStatus status;
+    public String nextCursor;
 }
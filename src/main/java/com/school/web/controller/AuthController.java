@@ -1,6 +1,8 @@
 package com.school.web.controller;
 
+import com.school.authentication.AuthService;
 import com.school.exceptions.InvalidCredentialsException;
+import com.school.exceptions.ServiceUnavailableException;
 import com.school.exceptions.ValidationException;
 import com.school.feature.users.entity.UserSession;
 import com.school.service.UserService;
@@ -25,6 +27,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class AuthController {
 
     private final UserService userService;
+    private final AuthService authService;
 
     @PostMapping("/login")
     public ResponseEntity<Response<UserSessionDTO>> login(@RequestBody LogInLogOutDTO logInLogOutDTO) throws ValidationException {
@@ -41,9 +44,19 @@ public class AuthController {
                     .message(e.getMessage())
                     .build());
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
+        } catch (ServiceUnavailableException e) {
+            final var response = new Response<UserSessionDTO>();
+            response.setError(Error.builder()
+                    .message(e.getMessage())
+                    .build());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, Long.toString(e.getRetryAfterSeconds()))
+                    .body(response);
         }
         final var response = new Response<UserSessionDTO>();
-        response.setData(UserSessionDTOMapper.toDTO(userSession));
+        final var userSessionDTO = UserSessionDTOMapper.toDTO(userSession);
+        userSessionDTO.setToken(authService.issueToken(userSession));
+        response.setData(userSessionDTO);
         return ResponseEntity.ok(response);
     }
 
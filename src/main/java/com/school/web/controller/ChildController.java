@@ -1,19 +1,30 @@
 package com.school.web.controller;
 
+import com.school.authentication.AuthenticatedUser;
+import com.school.exceptions.ValidationException;
 import com.school.feature.users.entity.User;
+import com.school.service.ChildImportService;
 import com.school.service.ChildService;
 import com.school.web.common.Error;
 import com.school.web.common.Response;
 import com.school.web.dtos.AddChildDTO;
 import com.school.web.dtos.ChildDTO;
+import com.school.web.dtos.ChildQueryDTO;
+import com.school.web.dtos.ImportReportDTO;
+import com.school.web.utils.ChildDTOMapper;
+import com.school.web.utils.CsvUtils;
 import com.school.web.utils.SessionUtils;
-import jakarta.servlet.http.HttpSession;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 
 @RestController
@@ -22,11 +33,14 @@ import java.util.List;
 @Slf4j
 public class ChildController {
 
+    private static final String NDJSON = "application/x-ndjson";
+
     private final ChildService childService;
+    private final ChildImportService childImportService;
 
     @PostMapping("/add")
-    public ResponseEntity<Response<ChildDTO>> addChild(@RequestBody AddChildDTO addChildDTO, HttpSession httpSession) {
-       final var loggedInUser = SessionUtils.getUser(httpSession);
+    public ResponseEntity<Response<ChildDTO>> addChild(@RequestBody AddChildDTO addChildDTO, HttpServletRequest request) {
+       final var loggedInUser = SessionUtils.getUser(request);
             
         final var childDTO = childService.addChild(loggedInUser, addChildDTO);
         if (childDTO == null) {
@@ -42,10 +56,59 @@ public class ChildController {
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Response<ImportReportDTO>> importChildren(@RequestBody List<AddChildDTO> children, HttpServletRequest request) {
+        return importChildren(SessionUtils.getUser(request), children);
+    }
+
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<Response<ImportReportDTO>> importChildrenCsv(HttpServletRequest request) throws IOException {
+        final var loggedInUser = SessionUtils.getUser(request);
+
+        final List<AddChildDTO> children = new ArrayList<>();
+        try {
+            final var rows = CsvUtils.read(request.getReader());
+            for (int i = 0; i < rows.size(); i++) {
+                // Line 1 is the header
+                children.add(ChildDTOMapper.fromCsv(rows.get(i), i + 2));
+            }
+        } catch (ValidationException e) {
+            return importRejected(e);
+        }
+        return importChildren(loggedInUser, children);
+    }
+
+    private ResponseEntity<Response<ImportReportDTO>> importChildren(AuthenticatedUser loggedInUser, List<AddChildDTO> children) {
+        final ImportReportDTO report;
+        try {
+            report = childImportService.importChildren(loggedInUser, children);
+        } catch (ValidationException e) {
+            return importRejected(e);
+        }
+        if (report == null) {
+            final var response = new Response<ImportReportDTO>();
+            response.setError(Error.builder()
+                    .message("Not authorized to add children")
+                    .build());
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
+        }
+        final var response = new Response<ImportReportDTO>();
+        response.setData(report);
+        return ResponseEntity.ok(response);
+    }
+
+    private static ResponseEntity<Response<ImportReportDTO>> importRejected(ValidationException e) {
+        final var response = new Response<ImportReportDTO>();
+        response.setError(Error.builder()
+                .message(e.getMessage())
+                .build());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+    }
+
     @GetMapping("/parent/{parentId}")
-    public ResponseEntity<Response<List<ChildDTO>>> getChildrenByParent(@PathVariable String parentId, HttpSession httpSession) {
+    public ResponseEntity<Response<List<ChildDTO>>> getChildrenByParent(@PathVariable String parentId, HttpServletRequest request) {
         try {
-            final var loggedInUser = SessionUtils.getUser(httpSession);
+            final var loggedInUser = SessionUtils.getUser(request);
             
             final var children = childService.getChildrenByParentId(loggedInUser, parentId);
             if (children == null) {
@@ -69,10 +132,23 @@ public class ChildController {
         }
     }
 
+    @GetMapping(value = "/export", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> exportChildren(HttpServletRequest request) {
+        final var loggedInUser = SessionUtils.getUser(request);
+
+        final var body = childService.exportChildren(loggedInUser);
+        if (body == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON))
+                .body(body);
+    }
+
     @GetMapping("/{childId}")
-    public ResponseEntity<Response<ChildDTO>> getChildById(@PathVariable String childId, HttpSession httpSession) {
+    public ResponseEntity<Response<ChildDTO>> getChildById(@PathVariable String childId, HttpServletRequest request) {
         try {
-            final var loggedInUser = SessionUtils.getUser(httpSession);
+            final var loggedInUser = SessionUtils.getUser(request);
             
             final var childDTO = childService.getChildById(loggedInUser, childId);
             if (childDTO == null) {
@@ -97,12 +173,12 @@ public class ChildController {
     }
 
     @GetMapping
-    public ResponseEntity<Response<List<ChildDTO>>> getAllChildren(HttpSession httpSession) {
+    public ResponseEntity<Response<List<ChildDTO>>> getAllChildren(ChildQueryDTO query, HttpServletRequest request) {
         try {
-            final var loggedInUser = SessionUtils.getUser(httpSession);
+            final var loggedInUser = SessionUtils.getUser(request);
             
-            final var children = childService.getAllChildren(loggedInUser);
-            if (children == null) {
+            final var page = childService.getAllChildren(loggedInUser, query);
+            if (page == null) {
                 Response<List<ChildDTO>> response = new Response<>();
                 response.setError(Error.builder()
                         .message("Not authorized to view all children")
@@ -111,7 +187,8 @@ public class ChildController {
             }
             
             Response<List<ChildDTO>> response = new Response<>();
-            response.setData(children);
+            response.setData(page.getChildren());
+            response.setNextCursor(page.getNextCursor());
             return ResponseEntity.ok(response);
         } catch (Exception e) {
             log.error("Error getting all children: ", e);
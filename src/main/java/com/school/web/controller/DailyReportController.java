@@ -0,0 +1,49 @@
+package com.school.web.controller;
+
+import com.school.exceptions.ValidationException;
+import com.school.service.DailyReportService;
+import com.school.web.common.Error;
+import com.school.web.common.Response;
+import com.school.web.dtos.ClassroomReportDTO;
+import com.school.web.utils.SessionUtils;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/reports/daily")
+@RequiredArgsConstructor
+@Slf4j
+public class DailyReportController {
+
+    private final DailyReportService dailyReportService;
+
+    @PostMapping("/classroom")
+    public ResponseEntity<Response<Integer>> submitClassroom(@RequestBody ClassroomReportDTO submission, HttpServletRequest request) {
+        final Integer submitted;
+        try {
+            submitted = dailyReportService.submitClassroom(SessionUtils.getUser(request), submission);
+        } catch (ValidationException e) {
+            final var response = new Response<Integer>();
+            response.setError(Error.builder()
+                    .message(e.getMessage())
+                    .build());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        }
+        final var response = new Response<Integer>();
+        if (submitted == null) {
+            response.setError(Error.builder()
+                    .message("Not authorized to submit daily reports")
+                    .build());
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
+        }
+        response.setData(submitted);
+        return ResponseEntity.ok(response);
+    }
+}
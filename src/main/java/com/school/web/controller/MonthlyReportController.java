@@ -0,0 +1,68 @@
+package com.school.web.controller;
+
+import com.school.exceptions.ValidationException;
+import com.school.service.MonthlyReportService;
+import com.school.web.common.Error;
+import com.school.web.common.Response;
+import com.school.web.dtos.MonthlyReportDTO;
+import com.school.web.utils.SessionUtils;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.YearMonth;
+
+@RestController
+@RequestMapping("/reports/monthly")
+@RequiredArgsConstructor
+@Slf4j
+public class MonthlyReportController {
+
+    private final MonthlyReportService monthlyReportService;
+
+    @GetMapping("/{childId}/{month}")
+    public ResponseEntity<Response<MonthlyReportDTO>> getMonthlyReport(@PathVariable String childId,
+                                                                       @PathVariable YearMonth month,
+                                                                       HttpServletRequest request) {
+        final MonthlyReportDTO report;
+        try {
+            report = monthlyReportService.getMonthlyReport(SessionUtils.getUser(request), childId, month);
+        } catch (ValidationException e) {
+            final var response = new Response<MonthlyReportDTO>();
+            response.setError(Error.builder()
+                    .message(e.getMessage())
+                    .build());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        }
+        final var response = new Response<MonthlyReportDTO>();
+        if (report == null) {
+            response.setError(Error.builder()
+                    .message("Not authorized to view monthly reports")
+                    .build());
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
+        }
+        response.setData(report);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/{month}/rebuild")
+    public ResponseEntity<Response<Integer>> rebuildMonth(@PathVariable YearMonth month, HttpServletRequest request) {
+        final var corrected = monthlyReportService.rebuildMonth(SessionUtils.getUser(request), month);
+        final var response = new Response<Integer>();
+        if (corrected == null) {
+            response.setError(Error.builder()
+                    .message("Not authorized to rebuild monthly reports")
+                    .build());
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
+        }
+        response.setData(corrected);
+        return ResponseEntity.ok(response);
+    }
+}
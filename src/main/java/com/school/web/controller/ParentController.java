@@ -1,21 +1,29 @@
 package com.school.web.controller;
 
+import com.school.authentication.AuthenticatedUser;
+import com.school.exceptions.ServiceUnavailableException;
+import com.school.exceptions.ValidationException;
 import com.school.feature.users.dao.IRoleRepository;
 import com.school.feature.users.dao.IUserRepository;
 import com.school.feature.users.entity.User;
 import com.school.feature.users.entity.UserRole;
 import com.school.feature.users.entity.UserStatus;
+import com.school.service.ParentImportService;
 import com.school.service.UserService;
 import com.school.web.common.Error;
 import com.school.web.common.Response;
+import com.school.web.dtos.ImportReportDTO;
 import com.school.web.dtos.UserDTO;
+import com.school.web.utils.CsvUtils;
 import com.school.web.utils.SessionUtils;
 import com.school.web.utils.UserDTOMapper;
-import jakarta.servlet.http.HttpSession;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.hibernate.Hibernate;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -23,6 +31,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -34,12 +43,30 @@ public class ParentController {
     private final IRoleRepository roleRepository;
     private final IUserRepository userRepository;
     private final UserService userService;
+    private final ParentImportService parentImportService;
 
     @PostMapping(value = "/add")
-    public ResponseEntity<Response<UserDTO>> addParent(@RequestBody UserDTO parentDTO, HttpSession httpSession) {
-        final var loggedInUser = SessionUtils.getUser(httpSession);
+    public ResponseEntity<Response<UserDTO>> addParent(@RequestBody UserDTO parentDTO, HttpServletRequest request) {
+        final var loggedInUser = SessionUtils.getUser(request);
 
-        final var parent = userService.addParent(loggedInUser, parentDTO);
+        final User parent;
+        try {
+            parent = userService.addParent(loggedInUser, parentDTO);
+        } catch (ValidationException e) {
+            final var response = new Response<UserDTO>();
+            response.setError(Error.builder()
+                    .message(e.getMessage())
+                    .build());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        } catch (ServiceUnavailableException e) {
+            final var response = new Response<UserDTO>();
+            response.setError(Error.builder()
+                    .message(e.getMessage())
+                    .build());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, Long.toString(e.getRetryAfterSeconds()))
+                    .body(response);
+        }
         if (parent == null) {
             final var response = new Response<UserDTO>();
             response.setError(Error.builder()
@@ -51,4 +78,51 @@ public class ParentController {
         response.setData(UserDTOMapper.toDTO(parent));
         return ResponseEntity.ok(response);
     }
+
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Response<ImportReportDTO>> importParents(@RequestBody List<UserDTO> parents, HttpServletRequest request) {
+        return importParents(SessionUtils.getUser(request), parents);
+    }
+
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<Response<ImportReportDTO>> importParentsCsv(HttpServletRequest request) throws IOException {
+        final var loggedInUser = SessionUtils.getUser(request);
+
+        final List<UserDTO> parents;
+        try {
+            parents = CsvUtils.read(request.getReader()).stream()
+                    .map(UserDTOMapper::fromCsv)
+                    .toList();
+        } catch (ValidationException e) {
+            return importRejected(e);
+        }
+        return importParents(loggedInUser, parents);
+    }
+
+    private ResponseEntity<Response<ImportReportDTO>> importParents(AuthenticatedUser loggedInUser, List<UserDTO> parents) {
+        final ImportReportDTO report;
+        try {
+            report = parentImportService.importParents(loggedInUser, parents);
+        } catch (ValidationException e) {
+            return importRejected(e);
+        }
+        if (report == null) {
+            final var response = new Response<ImportReportDTO>();
+            response.setError(Error.builder()
+                    .message("Not authorized to add parents")
+                    .build());
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
+        }
+        final var response = new Response<ImportReportDTO>();
+        response.setData(report);
+        return ResponseEntity.ok(response);
+    }
+
+    private static ResponseEntity<Response<ImportReportDTO>> importRejected(ValidationException e) {
+        final var response = new Response<ImportReportDTO>();
+        response.setError(Error.builder()
+                .message(e.getMessage())
+                .build());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+    }
 }
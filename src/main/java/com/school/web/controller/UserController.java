@@ -1,10 +1,13 @@
 package com.school.web.controller;
 
-import com.school.feature.users.entity.User;
+import com.school.exceptions.ValidationException;
 import com.school.service.UserService;
 import com.school.web.common.Error;
 import com.school.web.common.Response;
 import com.school.web.dtos.UserDTO;
+import com.school.web.utils.SessionUtils;
+import com.school.web.utils.UserDTOMapper;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -23,7 +26,7 @@ public class UserController {
     public ResponseEntity user(@PathVariable(value = "email") String email) {
         System.out.println("get by email: " + email);
         final var user = userService.getUserByEmail(email);
-        final var response = new Response<User>();
+        final var response = new Response<UserDTO>();
         if (user == null) {
             response.setError(Error.builder()
                 .fieldName("email")
@@ -31,7 +34,41 @@ public class UserController {
                 .build());
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
         }
-        response.setData(user);
+        response.setData(UserDTOMapper.toDTO(user));
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/{userId}/disable")
+    public ResponseEntity<Response<Integer>> disable(@PathVariable(value = "userId") String userId, HttpServletRequest request) {
+        final Integer revoked;
+        try {
+            revoked = userService.disableUser(SessionUtils.getUser(request), userId);
+        } catch (ValidationException e) {
+            final var response = new Response<Integer>();
+            response.setError(Error.builder()
+                    .fieldName("userId")
+                    .message(e.getMessage())
+                    .build());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        }
+        return revokedSessions(revoked, "Not authorized to disable users");
+    }
+
+    @PostMapping("/{userId}/sessions/revoke")
+    public ResponseEntity<Response<Integer>> revokeSessions(@PathVariable(value = "userId") String userId, HttpServletRequest request) {
+        final var revoked = userService.revokeAllSessions(SessionUtils.getUser(request), userId);
+        return revokedSessions(revoked, "Not authorized to revoke the sessions of this user");
+    }
+
+    private static ResponseEntity<Response<Integer>> revokedSessions(Integer revoked, String unauthorizedMessage) {
+        final var response = new Response<Integer>();
+        if (revoked == null) {
+            response.setError(Error.builder()
+                    .message(unauthorizedMessage)
+                    .build());
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
+        }
+        response.setData(revoked);
         return ResponseEntity.ok(response);
     }
 
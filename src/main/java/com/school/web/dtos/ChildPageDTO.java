@@ -0,0 +1,13 @@
+package com.school.web.dtos;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class ChildPageDTO {
+    private List<ChildDTO> children;
+    private String nextCursor;
+}
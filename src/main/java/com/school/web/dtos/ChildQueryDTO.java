@@ -0,0 +1,22 @@
+package com.school.web.dtos;
+
+import com.school.feature.users.entity.UserStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Query parameters of {@code GET /children}. {@code cursor} is the {@code nextCursor} of the previous page and
+ * {@code namePrefix} matches the start of the last name.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChildQueryDTO {
+    private String cursor;
+    private Integer limit;
+    private UserStatus status;
+    private String namePrefix;
+}
@@ -0,0 +1,22 @@
+package com.school.web.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Body of {@code POST /reports/daily/classroom}: the reports a teacher records for their classroom at the end of
+ * {@code date}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClassroomReportDTO {
+    private LocalDate date;
+    private List<DailyReportDTO> reports;
+}
@@ -0,0 +1,23 @@
+package com.school.web.dtos;
+
+import com.school.feature.report.entity.Mood;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One child's report within a {@link ClassroomReportDTO}. {@code present} defaults to true, the counts to 0.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyReportDTO {
+    private String childId;
+    private Boolean present;
+    private Integer mealsEaten;
+    private Integer napMinutes;
+    private Mood mood;
+    private String notes;
+}
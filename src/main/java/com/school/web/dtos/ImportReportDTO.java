@@ -0,0 +1,17 @@
+package com.school.web.dtos;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class ImportReportDTO {
+    private int created;
+    private int rejected;
+    private int failed;
+    private long elapsedMillis;
+    private double rowsPerSecond;
+    private List<ImportRowResultDTO> rows;
+}
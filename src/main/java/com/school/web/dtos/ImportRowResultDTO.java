@@ -0,0 +1,23 @@
+package com.school.web.dtos;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Outcome of one input row of a bulk import. {@code row} is 1-based and counts data rows only.
+ */
+@Data
+@Builder
+public class ImportRowResultDTO {
+
+    public enum Status {
+        CREATED, REJECTED, FAILED
+    }
+
+    private int row;
+    private Status status;
+    private String id;
+    private List<String> errors;
+}
@@ -0,0 +1,23 @@
+package com.school.web.dtos;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.YearMonth;
+
+/**
+ * A child's month. The averages are per reported day and null when no day was reported.
+ */
+@Data
+@Builder
+public class MonthlyReportDTO {
+    private String childId;
+    private YearMonth month;
+    private int daysReported;
+    private int daysPresent;
+    private int mealsEaten;
+    private int napMinutes;
+    private int notesCount;
+    private Double averageMealsEaten;
+    private Double averageNapMinutes;
+}
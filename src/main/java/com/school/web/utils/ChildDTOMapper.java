@@ -1,7 +1,16 @@
 package com.school.web.utils;
 
+import com.school.exceptions.ValidationException;
 import com.school.feature.users.entity.Child;
+import com.school.web.dtos.AddChildDTO;
 import com.school.web.dtos.ChildDTO;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 public class ChildDTOMapper {
     
@@ -28,4 +37,35 @@ public class ChildDTOMapper {
                 .updated(dto.getUpdated())
                 .build();
     }
-} 
\ No newline at end of file
+
+    /**
+     * Maps a CSV import row with columns {@code firstName,lastName,dateOfBirth,parents}, where {@code parents} is
+     * {@code parentId:relation} pairs separated by {@code |}. Missing values are left null for the import to report.
+     */
+    public static AddChildDTO fromCsv(Map<String, String> row, int line) throws ValidationException {
+        final var dateOfBirth = row.get("dateOfBirth");
+        final LocalDate parsedDateOfBirth;
+        try {
+            parsedDateOfBirth = StringUtils.hasText(dateOfBirth) ? LocalDate.parse(dateOfBirth.trim()) : null;
+        } catch (DateTimeParseException e) {
+            throw new ValidationException("Line " + line + ": dateOfBirth must be yyyy-MM-dd", e);
+        }
+        final List<AddChildDTO.ParentInfo> parents = new ArrayList<>();
+        final var parentsValue = row.get("parents");
+        if (StringUtils.hasText(parentsValue)) {
+            for (String entry : parentsValue.split("\\|")) {
+                final var separator = entry.indexOf(':');
+                parents.add(AddChildDTO.ParentInfo.builder()
+                        .parentId(separator < 0 ? entry.trim() : entry.substring(0, separator).trim())
+                        .relation(separator < 0 ? null : entry.substring(separator + 1).trim())
+                        .build());
+            }
+        }
+        return AddChildDTO.builder()
+                .firstName(row.get("firstName"))
+                .lastName(row.get("lastName"))
+                .dateOfBirth(parsedDateOfBirth)
+                .parents(parents)
+                .build();
+    }
+}
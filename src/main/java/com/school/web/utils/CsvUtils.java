@@ -0,0 +1,97 @@
+package com.school.web.utils;
+
+import com.school.exceptions.ValidationException;
+import lombok.experimental.UtilityClass;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimal RFC 4180 reader for the bulk import endpoints: comma separated, optional double quotes, {@code ""} for a
+ * literal quote, first line is the header. Blank lines are skipped.
+ */
+@UtilityClass
+public class CsvUtils {
+
+    /**
+     * Reads all records as header name to value maps.
+     */
+    public static List<Map<String, String>> read(Reader reader) throws IOException, ValidationException {
+        final var records = parse(reader);
+        if (records.isEmpty()) {
+            return List.of();
+        }
+        final var header = records.get(0);
+        final List<Map<String, String>> rows = new ArrayList<>(records.size() - 1);
+        for (int i = 1; i < records.size(); i++) {
+            final var record = records.get(i);
+            if (record.size() != header.size()) {
+                throw new ValidationException("Line " + (i + 1) + " has " + record.size() + " fields, expected "
+                        + header.size());
+            }
+            final Map<String, String> row = new HashMap<>();
+            for (int column = 0; column < header.size(); column++) {
+                row.put(header.get(column).trim(), record.get(column));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private static List<List<String>> parse(Reader reader) throws IOException, ValidationException {
+        final List<List<String>> records = new ArrayList<>();
+        List<String> record = new ArrayList<>();
+        final var field = new StringBuilder();
+        var quoted = false;
+        var fieldStarted = false;
+        int c;
+        while ((c = reader.read()) != -1) {
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    final var next = reader.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        if (next != -1) {
+                            reader.reset();
+                        }
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+                fieldStarted = true;
+            } else if (c == ',') {
+                record.add(field.toString());
+                field.setLength(0);
+                fieldStarted = true;
+            } else if (c == '\n' || c == '\r') {
+                if (fieldStarted || !field.isEmpty() || !record.isEmpty()) {
+                    record.add(field.toString());
+                    records.add(record);
+                    record = new ArrayList<>();
+                    field.setLength(0);
+                    fieldStarted = false;
+                }
+            } else {
+                field.append((char) c);
+                fieldStarted = true;
+            }
+        }
+        if (quoted) {
+            throw new ValidationException("Unterminated quoted field");
+        }
+        if (fieldStarted || !field.isEmpty() || !record.isEmpty()) {
+            record.add(field.toString());
+            records.add(record);
+        }
+        return records;
+    }
+}
@@ -0,0 +1,24 @@
+package com.school.web.utils;
+
+import com.school.feature.report.entity.MonthlyReport;
+import com.school.web.dtos.MonthlyReportDTO;
+
+import java.time.YearMonth;
+
+public class MonthlyReportDTOMapper {
+
+    public static MonthlyReportDTO toDTO(MonthlyReport entity) {
+        final var days = entity.getDaysReported();
+        return MonthlyReportDTO.builder()
+                .childId(entity.getChild().getId())
+                .month(YearMonth.from(entity.getReportMonth()))
+                .daysReported(days)
+                .daysPresent(entity.getDaysPresent())
+                .mealsEaten(entity.getMealsEaten())
+                .napMinutes(entity.getNapMinutes())
+                .notesCount(entity.getNotesCount())
+                .averageMealsEaten(days > 0 ? (double) entity.getMealsEaten() / days : null)
+                .averageNapMinutes(days > 0 ? (double) entity.getNapMinutes() / days : null)
+                .build();
+    }
+}
@@ -1,15 +1,19 @@
 package com.school.web.utils;
 
-import com.school.feature.users.entity.User;
-import com.school.feature.users.entity.UserSession;
-import jakarta.servlet.http.HttpSession;
+import com.school.authentication.AuthenticatedUser;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.experimental.UtilityClass;
 
 @UtilityClass
 public class SessionUtils {
 
-    public static User getUser(HttpSession session) {
-        final UserSession userSession = (UserSession) session.getAttribute("userSession");
-        return userSession.getUser();
+    public static final String AUTHENTICATED_USER_ATTRIBUTE = "authenticatedUser";
+
+    public static AuthenticatedUser getUser(HttpServletRequest request) {
+        return (AuthenticatedUser) request.getAttribute(AUTHENTICATED_USER_ATTRIBUTE);
+    }
+
+    public static void setUser(HttpServletRequest request, AuthenticatedUser authenticatedUser) {
+        request.setAttribute(AUTHENTICATED_USER_ATTRIBUTE, authenticatedUser);
     }
 }
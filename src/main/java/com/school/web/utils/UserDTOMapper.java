@@ -5,6 +5,8 @@ import com.school.web.dtos.UserDTO;
 import org.springframework.stereotype.Component;
 import org.springframework.stereotype.Service;
 
+import java.util.Map;
+
 public class UserDTOMapper {
 
 
@@ -21,4 +23,16 @@ public class UserDTOMapper {
                 .lastName(entity.getLastName())
                 .build();
     }
+
+    /**
+     * Maps a CSV import row with columns {@code firstName,lastName,email,password}.
+     */
+    public static UserDTO fromCsv(Map<String, String> row) {
+        return UserDTO.builder()
+                .firstName(row.get("firstName"))
+                .lastName(row.get("lastName"))
+                .email(row.get("email"))
+                .password(row.get("password"))
+                .build();
+    }
 }
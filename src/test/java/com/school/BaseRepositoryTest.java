@@ -1,6 +1,10 @@
 package com.school;
 
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.context.annotation.ComponentScan;
@@ -14,4 +18,15 @@ import org.springframework.test.context.jdbc.Sql;
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
 @Sql(scripts = "/sql/clear_test_data.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
 public class BaseRepositoryTest {
+
+    @Autowired
+    private EntityManagerFactory baseEntityManagerFactory;
+
+    /**
+     * Tests roll back or delete their rows in SQL, neither of which reaches the second-level cache.
+     */
+    @BeforeEach
+    void evictSecondLevelCache() {
+        baseEntityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
 }
@@ -1,14 +1,41 @@
 package com.school;
 
+import com.school.authentication.AuthenticatedUser;
+import com.school.authentication.PermissionAspect;
+import com.school.authentication.PermissionPolicy;
+import com.school.authentication.RoleBits;
+import com.school.feature.users.dao.IChildRepository;
+import com.school.feature.users.dao.IRoleRepository;
+import com.school.feature.users.dao.IUserRepository;
+import com.school.feature.users.dao.IUserRoleRepository;
+import com.school.feature.users.entity.Child;
+import com.school.feature.users.entity.User;
+import com.school.feature.users.entity.UserRole;
+import com.school.feature.users.entity.UserRoleId;
+import com.school.feature.users.entity.UserStatus;
+import com.school.support.PerformanceBudget;
+import com.school.support.PerformanceBudgetConfig;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.function.ThrowingSupplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.aop.AopAutoConfiguration;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Import;
 import org.springframework.stereotype.Repository;
 import org.springframework.stereotype.Service;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
 
 @ExtendWith(SpringExtension.class)
 @DataJpaTest(includeFilters = {
@@ -16,6 +43,105 @@ import org.springframework.test.context.jdbc.Sql;
     @ComponentScan.Filter(type = FilterType.ANNOTATION, classes = Service.class)
 }, showSql = true)
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(AopAutoConfiguration.class)
+@Import({PermissionAspect.class, PerformanceBudgetConfig.class})
 @Sql(scripts = "/sql/clear_test_data.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
 public class BaseServiceTest {
-} 
\ No newline at end of file
+
+    @Autowired
+    private IUserRepository baseUserRepository;
+
+    @Autowired
+    private IRoleRepository baseRoleRepository;
+
+    @Autowired
+    private IUserRoleRepository baseUserRoleRepository;
+
+    @Autowired
+    private IChildRepository baseChildRepository;
+
+    @Autowired
+    private PermissionPolicy basePermissionPolicy;
+
+    @Autowired
+    private EntityManagerFactory baseEntityManagerFactory;
+
+    @Autowired
+    private TestEntityManager baseEntityManager;
+
+    /**
+     * Tests roll back or delete their rows in SQL, neither of which reaches the second-level cache.
+     */
+    @BeforeEach
+    void evictSecondLevelCache() {
+        baseEntityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+
+    /**
+     * Runs a service call under a {@link PerformanceBudget}. Writes the call left pending in the test's persistence
+     * context are flushed inside the budget, so they are counted as they would be at commit.
+     */
+    protected <T> T withinBudget(int maxStatements, long maxAllocatedBytes, ThrowingSupplier<T> call) throws Throwable {
+        return PerformanceBudget.of(maxStatements, maxAllocatedBytes).check(() -> {
+            final var result = call.get();
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                baseEntityManager.flush();
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Builds the principal for a user the way session resolution does, from the roles stored for it.
+     */
+    protected AuthenticatedUser authenticated(User user) {
+        final var roles = RoleBits.of(baseUserRoleRepository.findByUserId(user.getId()));
+        return AuthenticatedUser.builder()
+                .id(user.getId())
+                .roles(roles)
+                .permissions(basePermissionPolicy.permissionsFor(roles))
+                .build();
+    }
+
+    /**
+     * Saves an active user without roles.
+     */
+    protected User saveUser(String email) {
+        return baseUserRepository.save(User.builder()
+                .email(email)
+                .firstName("Test")
+                .lastName("User")
+                .password("password")
+                .userStatus(UserStatus.ACTIVE)
+                .build());
+    }
+
+    /**
+     * Saves an active user with the named role.
+     */
+    protected User saveUser(String email, String roleName) {
+        final var user = saveUser(email);
+        final var role = baseRoleRepository.findByName(roleName);
+        baseUserRoleRepository.save(UserRole.builder()
+                .id(UserRoleId.builder()
+                        .userId(user.getId())
+                        .roleId(role.getId())
+                        .build())
+                .user(user)
+                .role(role)
+                .build());
+        return user;
+    }
+
+    /**
+     * Saves an active child with no parents.
+     */
+    protected Child saveChild(String firstName) {
+        return baseChildRepository.save(Child.builder()
+                .firstName(firstName)
+                .lastName("Test")
+                .dateOfBirth(LocalDate.of(2020, 1, 1))
+                .status(UserStatus.ACTIVE)
+                .build());
+    }
+}
\ No newline at end of file
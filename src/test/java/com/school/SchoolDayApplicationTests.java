@@ -1,10 +1,20 @@
 package com.school;
 
 import org.junit.jupiter.api.Test;
-import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
 
+/**
+ * Starts the whole application with the production {@code application.properties}, which the test resources
+ * otherwise shadow, so that scheduled jobs, filters and every bean's property binding are checked the way they run
+ * in production. Only the database is pointed at {@code schoolday_test}.
+ */
 @SpringBootTest
+@TestPropertySource(locations = "file:src/main/resources/application.properties",
+        properties = "MYSQL_DATABASE=schoolday_test")
 class SchoolDayApplicationTests {
 
+    @Test
+    void contextLoads() {
+    }
 }
@@ -0,0 +1,86 @@
+package com.school.authentication;
+
+import com.school.BaseServiceTest;
+import com.school.feature.users.dao.IUserSessionRepository;
+import com.school.feature.users.entity.User;
+import com.school.feature.users.entity.UserSession;
+import com.school.persistence.ReadWriteRoutingDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+
+import static com.school.persistence.ReadWriteRoutingDataSourceTest.database;
+import static com.school.persistence.ReadWriteRoutingDataSourceTest.query;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AuthServiceTest extends BaseServiceTest {
+
+    @Autowired
+    private IUserSessionRepository userSessionRepository;
+
+    @Autowired
+    private PermissionPolicy permissionPolicy;
+
+    private User user;
+    private ReadWriteRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() {
+        user = saveUser("touch@test.com");
+        routing = new ReadWriteRoutingDataSource(database("primary"), database("replica"), Duration.ofMinutes(1),
+                () -> AuthenticationContext.current().map(AuthenticatedUser::getId));
+    }
+
+    @AfterEach
+    void tearDown() {
+        AuthenticationContext.clear();
+    }
+
+    @Test
+    public void given_touchedSession_when_authenticatedUserReads_then_usesReplica() {
+        // Given
+        final var token = TokenUtils.generateToken(32);
+        userSessionRepository.saveAndFlush(UserSession.builder()
+                .token(token)
+                .user(user)
+                .active(true)
+                .build());
+        AuthenticationContext.set(authenticated(user));
+
+        // When
+        final var authenticatedUser = authService(routedTouches()).authenticate(token);
+        final var read = query(routing, true);
+
+        // Then
+        assertTrue(authenticatedUser.isPresent());
+        assertEquals("replica", read);
+    }
+
+    private AuthService authService(IUserSessionRepository sessions) {
+        return new AuthService(sessions, new SessionCache(100, Duration.ofMinutes(1), Duration.ofSeconds(5)),
+                new SessionTokenCodec(TokenMode.OPAQUE, null), null, permissionPolicy, TokenMode.OPAQUE,
+                Duration.ofHours(12), Duration.ofMinutes(30), Duration.ofHours(12), Duration.ZERO);
+    }
+
+    /**
+     * The session repository, with every touch also writing through the routing data source as the real one would.
+     */
+    private IUserSessionRepository routedTouches() {
+        return (IUserSessionRepository) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{IUserSessionRepository.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("touch")) {
+                        query(routing, false);
+                    }
+                    try {
+                        return method.invoke(userSessionRepository, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+}
@@ -0,0 +1,69 @@
+package com.school.authentication;
+
+import com.school.BaseServiceTest;
+import com.school.feature.users.dao.IRoleRepository;
+import com.school.feature.users.entity.Role;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PermissionPolicyTest extends BaseServiceTest {
+
+    @Autowired
+    private PermissionPolicy permissionPolicy;
+
+    @Autowired
+    private IRoleRepository roleRepository;
+
+    @Test
+    public void given_adminRole_when_permissionsFor_then_returnsAllPermissions() {
+        // When
+        PermissionSet permissions = permissionPolicy.permissionsFor(RoleBits.ADMIN);
+
+        // Then
+        assertEquals(PermissionSet.ALL, permissions);
+    }
+
+    @Test
+    public void given_parentRole_when_permissionsFor_then_returnsPermissionsFromRoleColumn() {
+        // When
+        PermissionSet permissions = permissionPolicy.permissionsFor(RoleBits.PARENT);
+
+        // Then
+        assertTrue(permissions.contains(Permission.MANAGE_CHILD));
+        assertFalse(permissions.contains(Permission.CREATE_USER));
+        assertFalse(permissions.contains(Permission.VIEW_ALL_CHILDREN));
+    }
+
+    @Test
+    public void given_noRoles_when_permissionsFor_then_returnsNoPermissions() {
+        // When
+        PermissionSet permissions = permissionPolicy.permissionsFor(0);
+
+        // Then
+        assertEquals(PermissionSet.NONE, permissions);
+    }
+
+    @Test
+    public void given_rolePermissionsChanged_when_refresh_then_returnsNewPermissions() {
+        // Given
+        assertFalse(permissionPolicy.permissionsFor(RoleBits.TEACHER).contains(Permission.VIEW_ALL_CHILDREN));
+        Role teacherRole = roleRepository.findByName("TEACHER");
+        String originalPermissions = teacherRole.getPermissions();
+        teacherRole.setPermissions("VIEW_ALL_CHILDREN");
+        roleRepository.saveAndFlush(teacherRole);
+
+        try {
+            // When
+            permissionPolicy.refresh();
+
+            // Then
+            assertTrue(permissionPolicy.permissionsFor(RoleBits.TEACHER).contains(Permission.VIEW_ALL_CHILDREN));
+        } finally {
+            teacherRole.setPermissions(originalPermissions);
+            roleRepository.saveAndFlush(teacherRole);
+            permissionPolicy.refresh();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.school.authentication;
+
+import com.school.BaseServiceTest;
+import com.school.feature.users.dao.IUserSessionRepository;
+import com.school.feature.users.entity.User;
+import com.school.feature.users.entity.UserSession;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SessionSweeperTest extends BaseServiceTest {
+
+    @Autowired
+    private SessionSweeper sessionSweeper;
+
+    @Autowired
+    private IUserSessionRepository userSessionRepository;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+    private User otherUser;
+
+    @BeforeEach
+    void setUp() {
+        user = saveUser("sweeper@test.com");
+        otherUser = saveUser("other.sweeper@test.com");
+    }
+
+    @Test
+    public void given_idleAndFreshSessions_when_deactivateExpired_then_onlyIdleSessionIsDeactivated() {
+        // Given
+        String idleToken = saveSession(user, true, Instant.now().minus(2, ChronoUnit.HOURS), Instant.now().minus(1, ChronoUnit.HOURS));
+        String freshToken = saveSession(otherUser, true, Instant.now().minus(2, ChronoUnit.HOURS), Instant.now());
+
+        // When
+        int deactivated = sessionSweeper.deactivateExpired(Instant.now());
+
+        // Then
+        assertEquals(1, deactivated);
+        assertFalse(isActive(idleToken));
+        assertTrue(isActive(freshToken));
+    }
+
+    @Test
+    public void given_sessionPastAbsoluteTtl_when_deactivateExpired_then_sessionIsDeactivated() {
+        // Given
+        String oldToken = saveSession(user, true, Instant.now().minus(13, ChronoUnit.HOURS), Instant.now());
+
+        // When
+        int deactivated = sessionSweeper.deactivateExpired(Instant.now());
+
+        // Then
+        assertEquals(1, deactivated);
+        assertFalse(isActive(oldToken));
+    }
+
+    @Test
+    public void given_signedTokenMode_when_deactivateExpired_then_onlyAbsoluteTtlApplies() {
+        // Given
+        final var signedSweeper = new SessionSweeper(userSessionRepository, authService, TokenMode.SIGNED,
+                Duration.ofMinutes(30), Duration.ofHours(12), Duration.ofHours(24), Duration.ofHours(12), 500);
+        String activeToken = saveSession(user, true, Instant.now().minus(2, ChronoUnit.HOURS), Instant.now().minus(2, ChronoUnit.HOURS));
+        String oldToken = saveSession(otherUser, true, Instant.now().minus(13, ChronoUnit.HOURS), Instant.now().minus(13, ChronoUnit.HOURS));
+
+        // When
+        int deactivated = signedSweeper.deactivateExpired(Instant.now());
+
+        // Then
+        assertEquals(1, deactivated);
+        assertTrue(isActive(activeToken));
+        assertFalse(isActive(oldToken));
+    }
+
+    @Test
+    public void given_longInactiveSession_when_purgeInactive_then_sessionIsDeleted() {
+        // Given
+        String oldToken = saveSession(user, false, Instant.now().minus(3, ChronoUnit.DAYS), Instant.now().minus(3, ChronoUnit.DAYS));
+        String recentToken = saveSession(user, false, Instant.now().minus(1, ChronoUnit.HOURS), Instant.now().minus(1, ChronoUnit.HOURS));
+
+        // When
+        int purged = sessionSweeper.purgeInactive(Instant.now());
+
+        // Then
+        assertEquals(1, purged);
+        assertEquals(0, countSessions(oldToken));
+        assertEquals(1, countSessions(recentToken));
+    }
+
+    private String saveSession(User user, boolean active, Instant created, Instant lastAccessed) {
+        String token = TokenUtils.generateToken(32);
+        userSessionRepository.saveAndFlush(UserSession.builder()
+                .token(token)
+                .user(user)
+                .active(active)
+                .build());
+        jdbcTemplate.update("UPDATE user_session SET created = ?, updated = ?, last_accessed = ? WHERE token = ?",
+                Timestamp.from(created), Timestamp.from(lastAccessed), Timestamp.from(lastAccessed), token);
+        return token;
+    }
+
+    private boolean isActive(String token) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT active FROM user_session WHERE token = ?", Boolean.class, token));
+    }
+
+    private int countSessions(String token) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM user_session WHERE token = ?", Integer.class, token);
+    }
+}
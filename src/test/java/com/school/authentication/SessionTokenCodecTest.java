@@ -0,0 +1,75 @@
+package com.school.authentication;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SessionTokenCodecTest {
+
+    private static final String KEY = Base64.getEncoder().encodeToString("0123456789abcdef0123456789abcdef".getBytes());
+    private static final String OTHER_KEY = Base64.getEncoder().encodeToString("fedcba9876543210fedcba9876543210".getBytes());
+
+    private final SessionTokenCodec codec = new SessionTokenCodec(TokenMode.SIGNED, KEY);
+
+    @Test
+    public void given_claims_when_encodeAndDecode_then_returnsSameClaims() {
+        // Given
+        SessionClaims claims = SessionClaims.builder()
+                .tokenId(TokenUtils.generateToken(32))
+                .userId("user_1")
+                .roles(RoleBits.ADMIN | RoleBits.PARENT)
+                .issuedAt(Instant.now().truncatedTo(ChronoUnit.MILLIS))
+                .expiresAt(Instant.now().plus(1, ChronoUnit.HOURS).truncatedTo(ChronoUnit.SECONDS))
+                .build();
+
+        // When
+        String token = codec.encode(claims);
+
+        // Then
+        assertEquals(claims, codec.decode(token).orElseThrow());
+    }
+
+    @Test
+    public void given_tamperedToken_when_decode_then_returnsEmpty() {
+        // Given
+        String token = codec.encode(SessionClaims.builder()
+                .tokenId(TokenUtils.generateToken(32))
+                .userId("user_1")
+                .roles(RoleBits.PARENT)
+                .issuedAt(Instant.now())
+                .expiresAt(Instant.now().plus(1, ChronoUnit.HOURS))
+                .build());
+        String forgedPayload = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("v2|abc|user_1|1|0|9999999999".getBytes());
+        String tampered = forgedPayload + token.substring(token.indexOf('.'));
+
+        // When & Then
+        assertTrue(codec.decode(tampered).isEmpty());
+        assertTrue(codec.decode("not-a-token").isEmpty());
+    }
+
+    @Test
+    public void given_tokenSignedWithOtherKey_when_decode_then_returnsEmpty() {
+        // Given
+        SessionTokenCodec otherCodec = new SessionTokenCodec(TokenMode.SIGNED, OTHER_KEY);
+        String token = otherCodec.encode(SessionClaims.builder()
+                .tokenId(TokenUtils.generateToken(32))
+                .userId("user_1")
+                .roles(RoleBits.ADMIN)
+                .issuedAt(Instant.now())
+                .expiresAt(Instant.now().plus(1, ChronoUnit.HOURS))
+                .build());
+
+        // When & Then
+        assertTrue(codec.decode(token).isEmpty());
+    }
+
+    @Test
+    public void given_signedModeWithoutKey_when_create_then_throwsException() {
+        assertThrows(IllegalStateException.class, () -> new SessionTokenCodec(TokenMode.SIGNED, ""));
+    }
+}
@@ -0,0 +1,49 @@
+package com.school.authentication;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TokenRevocationListTest {
+
+    private final TokenRevocationList revocationList = new TokenRevocationList(null, TokenMode.SIGNED, Duration.ofHours(12));
+
+    @Test
+    public void given_userRevoked_when_checkingTokenIssuedBefore_then_isRevoked() {
+        // Given
+        Instant revokedAt = Instant.now();
+        revocationList.revokeUser("user_1", revokedAt);
+
+        // When & Then
+        assertTrue(revocationList.isRevoked(claims("user_1", revokedAt.minusMillis(1), revokedAt.plus(12, ChronoUnit.HOURS))));
+        assertFalse(revocationList.isRevoked(claims("user_2", revokedAt.minusMillis(1), revokedAt.plus(12, ChronoUnit.HOURS))));
+    }
+
+    @Test
+    public void given_userRevoked_when_checkingTokenIssuedAfterWithShortExpiry_then_isNotRevoked() {
+        // Given
+        Instant revokedAt = Instant.parse("2026-01-01T10:00:00.400Z");
+        revocationList.revokeUser("user_1", revokedAt);
+
+        // When
+        // Issued in the same second as the watermark, with its expiry capped well below the token TTL
+        SessionClaims claims = claims("user_1", Instant.parse("2026-01-01T10:00:00.900Z"), Instant.parse("2026-01-01T11:00:00Z"));
+
+        // Then
+        assertFalse(revocationList.isRevoked(claims));
+    }
+
+    private static SessionClaims claims(String userId, Instant issuedAt, Instant expiresAt) {
+        return SessionClaims.builder()
+                .tokenId(TokenUtils.generateToken(32))
+                .userId(userId)
+                .roles(RoleBits.PARENT)
+                .issuedAt(issuedAt)
+                .expiresAt(expiresAt)
+                .build();
+    }
+}
@@ -0,0 +1,316 @@
+package com.school.benchmark;
+
+import com.school.persistence.UuidV7Generator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Simulates the end-of-day burst in which every classroom submits its daily reports at once, comparing one statement
+ * per child with the batched {@code INSERT ... ON DUPLICATE KEY UPDATE} that {@code DailyReportUpsertImpl} sends.
+ * Two more modes run the whole four statement submission of {@code DailyReportService}: {@code gap-lock} reads the
+ * reports being replaced with {@code FOR UPDATE}, while {@code child-lock} locks the children's rows and then reads
+ * the reports without locks at {@code READ COMMITTED}. A submission that deadlocks is rolled back and retried, and
+ * the retries are counted. Each classroom is one transaction on its own connection. Reports classrooms per second
+ * and the latency of a classroom submission. Run it against a scratch MySQL schema that has {@code daily_report},
+ * {@code monthly_report} and {@code child}; it copies them to {@code bench_} tables (without foreign keys) and
+ * drops those afterwards:
+ * <pre>
+ * mvn test -Dtest=ClassroomReportBurstBenchmark -Dbenchmark=true \
+ *     -Dbenchmark.jdbc-url=jdbc:mysql://localhost:3306/schoolday_test \
+ *     -Dbenchmark.classrooms=500 -Dbenchmark.children=30 -Dbenchmark.concurrency=16
+ * </pre>
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class ClassroomReportBurstBenchmark {
+
+    private static final String TABLE = "bench_daily_report";
+    private static final String MONTHLY_TABLE = "bench_monthly_report";
+    private static final String CHILD_TABLE = "bench_child";
+    private static final int DEADLOCK = 1213;
+
+    private static final String UPSERT = "INSERT INTO " + TABLE
+            + " (id, child_id, report_date, present, meals_eaten, nap_minutes, mood, notes, reported_by, created, updated)"
+            + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)"
+            + " ON DUPLICATE KEY UPDATE present = VALUES(present), meals_eaten = VALUES(meals_eaten),"
+            + " nap_minutes = VALUES(nap_minutes), mood = VALUES(mood), notes = VALUES(notes),"
+            + " reported_by = VALUES(reported_by), updated = VALUES(updated)";
+
+    private static final String FIND_EXISTING = "SELECT child_id, meals_eaten FROM " + TABLE
+            + " WHERE child_id IN (%s) AND report_date IN (?)";
+
+    private static final String LOCK_CHILDREN = "SELECT id FROM " + CHILD_TABLE + " WHERE id IN (%s) ORDER BY id FOR UPDATE";
+
+    private static final String FIND_CHILDREN = "SELECT id FROM " + CHILD_TABLE + " WHERE id IN (%s)";
+
+    private static final String ADD_MONTHLY = "INSERT INTO " + MONTHLY_TABLE
+            + " (id, child_id, report_month, days_reported, days_present, meals_eaten, nap_minutes, notes_count, created, updated)"
+            + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)"
+            + " ON DUPLICATE KEY UPDATE days_reported = days_reported + VALUES(days_reported),"
+            + " days_present = days_present + VALUES(days_present), meals_eaten = meals_eaten + VALUES(meals_eaten),"
+            + " nap_minutes = nap_minutes + VALUES(nap_minutes), notes_count = notes_count + VALUES(notes_count),"
+            + " updated = VALUES(updated)";
+
+    @Test
+    public void classroomSubmissionBurst() throws Exception {
+        final var url = System.getProperty("benchmark.jdbc-url", "jdbc:mysql://localhost:3306/schoolday_test")
+                + "?rewriteBatchedStatements=true&useSSL=false";
+        final var classrooms = Integer.getInteger("benchmark.classrooms", 500);
+        final var children = Integer.getInteger("benchmark.children", 30);
+        final var concurrency = Integer.getInteger("benchmark.concurrency", 16);
+
+        final List<Classroom> school = new ArrayList<>(classrooms);
+        for (int i = 0; i < classrooms; i++) {
+            final List<String> childIds = new ArrayList<>(children);
+            for (int j = 0; j < children; j++) {
+                childIds.add(UuidV7Generator.next());
+            }
+            school.add(new Classroom(UuidV7Generator.next(), childIds));
+        }
+
+        try (final var connection = connect(url)) {
+            try (final var statement = connection.createStatement()) {
+                dropTables(statement);
+                statement.execute("CREATE TABLE " + TABLE + " LIKE daily_report");
+                statement.execute("CREATE TABLE " + MONTHLY_TABLE + " LIKE monthly_report");
+                // Only the id column of child is needed, with the same type
+                statement.execute("CREATE TABLE " + CHILD_TABLE + " SELECT id FROM child WHERE 1 = 0");
+                statement.execute("ALTER TABLE " + CHILD_TABLE + " ADD PRIMARY KEY (id)");
+            }
+            try {
+                try (final var insert = connection.prepareStatement("INSERT INTO " + CHILD_TABLE + " (id) VALUES (?)")) {
+                    for (final var classroom : school) {
+                        for (final var childId : classroom.childIds()) {
+                            insert.setString(1, childId);
+                            insert.addBatch();
+                        }
+                    }
+                    insert.executeBatch();
+                }
+                System.out.printf("classrooms=%d children=%d concurrency=%d%n", classrooms, children, concurrency);
+                System.out.printf("%-10s %-8s %14s %10s %10s %10s%n", "mode", "round", "classrooms/s", "p50 ms", "p99 ms",
+                        "deadlocks");
+                for (final var mode : Mode.values()) {
+                    // The first round inserts every report, the second corrects them all
+                    report(mode, "insert", burst(url, school, concurrency, mode, 1));
+                    report(mode, "update", burst(url, school, concurrency, mode, 2));
+                    try (final var statement = connection.createStatement()) {
+                        statement.execute("TRUNCATE TABLE " + TABLE);
+                        statement.execute("TRUNCATE TABLE " + MONTHLY_TABLE);
+                    }
+                }
+            } finally {
+                try (final var statement = connection.createStatement()) {
+                    dropTables(statement);
+                }
+            }
+        }
+    }
+
+    private static void dropTables(Statement statement) throws SQLException {
+        for (final var table : List.of(TABLE, MONTHLY_TABLE, CHILD_TABLE)) {
+            statement.execute("DROP TABLE IF EXISTS " + table);
+        }
+    }
+
+    private static Result burst(String url, List<Classroom> school, int concurrency, Mode mode, int mealsEaten) throws Exception {
+        final ExecutorService teachers = Executors.newFixedThreadPool(concurrency);
+        final var deadlocks = new AtomicInteger();
+        final List<Connection> connections = Collections.synchronizedList(new ArrayList<>());
+        final ThreadLocal<Connection> connection = ThreadLocal.withInitial(() -> {
+            try {
+                final var opened = connect(url);
+                opened.setAutoCommit(false);
+                opened.setTransactionIsolation(mode == Mode.CHILD_LOCKED
+                        ? Connection.TRANSACTION_READ_COMMITTED
+                        : Connection.TRANSACTION_REPEATABLE_READ);
+                connections.add(opened);
+                return opened;
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        try {
+            final List<Future<Long>> futures = new ArrayList<>(school.size());
+            final var start = System.nanoTime();
+            for (final var classroom : school) {
+                futures.add(teachers.submit(() -> {
+                    final var begin = System.nanoTime();
+                    while (!submit(connection.get(), classroom, mode, mealsEaten)) {
+                        deadlocks.incrementAndGet();
+                    }
+                    return System.nanoTime() - begin;
+                }));
+            }
+            final List<Long> latencies = new ArrayList<>(school.size());
+            for (final var future : futures) {
+                latencies.add(future.get());
+            }
+            return new Result(latencies, System.nanoTime() - start, deadlocks.get());
+        } finally {
+            teachers.shutdownNow();
+            for (final var opened : connections) {
+                opened.close();
+            }
+        }
+    }
+
+    /**
+     * Returns false when the submission deadlocked and was rolled back.
+     */
+    private static boolean submit(Connection connection, Classroom classroom, Mode mode, int mealsEaten) throws SQLException {
+        final var now = Timestamp.from(Instant.now());
+        final var today = Date.valueOf(LocalDate.now());
+        try {
+            Map<String, Integer> replaced = Map.of();
+            if (mode == Mode.GAP_LOCKED || mode == Mode.CHILD_LOCKED) {
+                query(connection, mode == Mode.CHILD_LOCKED ? LOCK_CHILDREN : FIND_CHILDREN, classroom.childIds(), null);
+                replaced = query(connection, FIND_EXISTING + (mode == Mode.GAP_LOCKED ? " FOR UPDATE" : ""),
+                        classroom.childIds(), today);
+            }
+            try (final var statement = connection.prepareStatement(UPSERT)) {
+                for (final var childId : classroom.childIds()) {
+                    bind(statement, childId, classroom.teacherId(), today, now, mealsEaten);
+                    if (mode == Mode.PER_ROW) {
+                        statement.executeUpdate();
+                    } else {
+                        statement.addBatch();
+                    }
+                }
+                if (mode != Mode.PER_ROW) {
+                    statement.executeBatch();
+                }
+            }
+            if (mode == Mode.GAP_LOCKED || mode == Mode.CHILD_LOCKED) {
+                addMonthly(connection, classroom, replaced, now, mealsEaten);
+            }
+            connection.commit();
+            return true;
+        } catch (SQLException e) {
+            connection.rollback();
+            if (e.getErrorCode() == DEADLOCK) {
+                return false;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Runs a query over the children, and the date when there is one, returning the first two columns when there are.
+     */
+    private static Map<String, Integer> query(Connection connection, String sql, List<String> childIds, Date date)
+            throws SQLException {
+        try (final var statement = connection.prepareStatement(
+                sql.formatted(String.join(", ", Collections.nCopies(childIds.size(), "?"))))) {
+            var i = 1;
+            for (final var childId : childIds) {
+                statement.setString(i++, childId);
+            }
+            if (date != null) {
+                statement.setDate(i, date);
+            }
+            final Map<String, Integer> rows = new HashMap<>();
+            try (final var resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    rows.put(resultSet.getString(1), date == null ? 0 : resultSet.getInt(2));
+                }
+            }
+            return rows;
+        }
+    }
+
+    private static void addMonthly(Connection connection, Classroom classroom, Map<String, Integer> replaced, Timestamp now,
+                                   int mealsEaten) throws SQLException {
+        final var month = Date.valueOf(LocalDate.now().withDayOfMonth(1));
+        try (final var statement = connection.prepareStatement(ADD_MONTHLY)) {
+            for (final var childId : classroom.childIds()) {
+                final var wasReported = replaced.containsKey(childId);
+                statement.setString(1, UuidV7Generator.next());
+                statement.setString(2, childId);
+                statement.setDate(3, month);
+                statement.setInt(4, wasReported ? 0 : 1);
+                statement.setInt(5, wasReported ? 0 : 1);
+                statement.setInt(6, mealsEaten - replaced.getOrDefault(childId, 0));
+                statement.setInt(7, wasReported ? 0 : 60);
+                statement.setInt(8, wasReported ? 0 : 1);
+                statement.setTimestamp(9, now);
+                statement.setTimestamp(10, now);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+
+    private static void bind(PreparedStatement statement, String childId, String teacherId, Date date, Timestamp now,
+                             int mealsEaten) throws SQLException {
+        statement.setString(1, UuidV7Generator.next());
+        statement.setString(2, childId);
+        statement.setDate(3, date);
+        statement.setBoolean(4, true);
+        statement.setInt(5, mealsEaten);
+        statement.setInt(6, 60);
+        statement.setString(7, "HAPPY");
+        statement.setString(8, "Played outside");
+        statement.setString(9, teacherId);
+        statement.setTimestamp(10, now);
+        statement.setTimestamp(11, now);
+    }
+
+    private static Connection connect(String url) throws SQLException {
+        return DriverManager.getConnection(url, "root", System.getenv().getOrDefault("MYSQL_ROOT_PASSWORD", ""));
+    }
+
+    private static void report(Mode mode, String round, Result result) {
+        final var sorted = new ArrayList<>(result.latencies());
+        Collections.sort(sorted);
+        System.out.printf("%-10s %-8s %14.1f %10.1f %10.1f %10d%n", mode.label, round,
+                sorted.size() / (result.elapsedNanos() / 1e9),
+                millis(percentile(sorted, 50)), millis(percentile(sorted, 99)), result.deadlocks());
+    }
+
+    private static long percentile(List<Long> sorted, int percentile) {
+        final var index = (int) Math.ceil(percentile / 100.0 * sorted.size()) - 1;
+        return sorted.get(Math.max(0, index));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private enum Mode {
+        PER_ROW("per-row"),
+        BATCHED("batched"),
+        GAP_LOCKED("gap-lock"),
+        CHILD_LOCKED("child-lock");
+
+        private final String label;
+
+        Mode(String label) {
+            this.label = label;
+        }
+    }
+
+    private record Classroom(String teacherId, List<String> childIds) {
+    }
+
+    private record Result(List<Long> latencies, long elapsedNanos, int deadlocks) {
+    }
+}
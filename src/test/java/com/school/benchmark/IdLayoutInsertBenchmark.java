@@ -0,0 +1,113 @@
+package com.school.benchmark;
+
+import com.school.persistence.IdStorage;
+import com.school.persistence.UuidV7Generator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Compares inserting into a table keyed by random {@code CHAR(36)} UUIDs, the current layout, with time-ordered UUIDs
+ * in {@code CHAR(36)} and in {@code BINARY(16)}. Each table has a secondary index on a second id column, like the
+ * foreign keys of {@code parent_child}. Reports rows per second and the size of the clustered and secondary indexes.
+ * Run it against a scratch MySQL schema; it creates and drops its own {@code bench_ids_*} tables:
+ * <pre>
+ * mvn test -Dtest=IdLayoutInsertBenchmark -Dbenchmark=true \
+ *     -Dbenchmark.jdbc-url=jdbc:mysql://localhost:3306/schoolday_test -Dbenchmark.rows=200000
+ * </pre>
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class IdLayoutInsertBenchmark {
+
+    private static final int BATCH_SIZE = 500;
+
+    @Test
+    public void insertThroughputPerIdLayout() throws Exception {
+        final var url = System.getProperty("benchmark.jdbc-url", "jdbc:mysql://localhost:3306/schoolday_test")
+                + "?rewriteBatchedStatements=true&useSSL=false";
+        final var rows = Integer.getInteger("benchmark.rows", 200_000);
+        final List<Layout> layouts = List.of(
+                new Layout("char_random", "CHAR(36)", false, () -> UUID.randomUUID().toString()),
+                new Layout("char_v7", "CHAR(36)", false, UuidV7Generator::next),
+                new Layout("binary_random", "BINARY(16)", true, () -> UUID.randomUUID().toString()),
+                new Layout("binary_v7", "BINARY(16)", true, UuidV7Generator::next));
+
+        try (final var connection = DriverManager.getConnection(url, "root", System.getenv().getOrDefault("MYSQL_ROOT_PASSWORD", ""))) {
+            System.out.printf("rows=%d batch=%d%n", rows, BATCH_SIZE);
+            System.out.printf("%-14s %12s %12s %12s%n", "layout", "rows/s", "data MB", "index MB");
+            for (final var layout : layouts) {
+                final var table = "bench_ids_" + layout.name();
+                try {
+                    createTable(connection, table, layout.columnType());
+                    final var elapsedNanos = insert(connection, table, layout, rows);
+                    report(connection, table, layout, rows, elapsedNanos);
+                } finally {
+                    connection.createStatement().execute("DROP TABLE IF EXISTS " + table);
+                }
+            }
+        }
+    }
+
+    private static void createTable(Connection connection, String table, String columnType) throws SQLException {
+        try (final var statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + table);
+            statement.execute("CREATE TABLE " + table + " ("
+                    + " id " + columnType + " NOT NULL,"
+                    + " parent_id " + columnType + " NOT NULL,"
+                    + " name VARCHAR(100) NOT NULL,"
+                    + " PRIMARY KEY (id),"
+                    + " KEY idx_" + table + "_parent_id (parent_id))");
+        }
+    }
+
+    private static long insert(Connection connection, String table, Layout layout, int rows) throws SQLException {
+        connection.setAutoCommit(false);
+        final var start = System.nanoTime();
+        try (final var statement = connection.prepareStatement(
+                "INSERT INTO " + table + " (id, parent_id, name) VALUES (?, ?, ?)")) {
+            for (int i = 1; i <= rows; i++) {
+                bind(statement, 1, layout, layout.ids().get());
+                bind(statement, 2, layout, layout.ids().get());
+                statement.setString(3, "Child " + i);
+                statement.addBatch();
+                if (i % BATCH_SIZE == 0 || i == rows) {
+                    statement.executeBatch();
+                    connection.commit();
+                }
+            }
+        } finally {
+            connection.setAutoCommit(true);
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static void bind(PreparedStatement statement, int index, Layout layout, String id) throws SQLException {
+        if (layout.binary()) {
+            statement.setBytes(index, IdStorage.toBytes(id));
+        } else {
+            statement.setString(index, id);
+        }
+    }
+
+    private static void report(Connection connection, String table, Layout layout, int rows, long elapsedNanos) throws SQLException {
+        try (final var statement = connection.createStatement()) {
+            statement.execute("ANALYZE TABLE " + table);
+            try (final var sizes = statement.executeQuery("SELECT data_length, index_length FROM information_schema.tables"
+                    + " WHERE table_schema = DATABASE() AND table_name = '" + table + "'")) {
+                sizes.next();
+                System.out.printf("%-14s %12.0f %12.1f %12.1f%n", layout.name(), rows / (elapsedNanos / 1e9),
+                        sizes.getLong(1) / 1048576.0, sizes.getLong(2) / 1048576.0);
+            }
+        }
+    }
+
+    private record Layout(String name, String columnType, boolean binary, Supplier<String> ids) {
+    }
+}
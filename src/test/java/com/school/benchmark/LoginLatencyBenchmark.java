@@ -0,0 +1,102 @@
+package com.school.benchmark;
+
+import com.school.authentication.PasswordHasher;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Reports login password-check latency per BCrypt cost, measured through {@link PasswordHasher} so that time spent
+ * queueing for the hashing pool is included. Run it inside the service container (or with the same CPU quota) so
+ * the numbers reflect the production budget:
+ * <pre>
+ * mvn test -Dtest=LoginLatencyBenchmark -Dbenchmark=true \
+ *     -Dbenchmark.costs=8,10,12 -Dbenchmark.logins=200 -Dbenchmark.concurrency=8
+ * </pre>
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class LoginLatencyBenchmark {
+
+    private static final String PASSWORD = "correct horse battery staple";
+
+    @Test
+    public void loginLatencyPerCost() throws Exception {
+        final var costs = Arrays.stream(System.getProperty("benchmark.costs", "8,10,12").split(","))
+                .map(String::trim)
+                .map(Integer::parseInt)
+                .toList();
+        final var logins = Integer.getInteger("benchmark.logins", 200);
+        final var concurrency = Integer.getInteger("benchmark.concurrency", 8);
+        final var poolSize = Runtime.getRuntime().availableProcessors();
+
+        System.out.printf("processors=%d logins=%d concurrency=%d%n", poolSize, logins, concurrency);
+        System.out.printf("%6s %10s %10s %10s %12s%n", "cost", "p50 ms", "p99 ms", "max ms", "logins/s");
+        for (final var cost : costs) {
+            final var hasher = new PasswordHasher(poolSize, logins, Duration.ofMinutes(1), Duration.ofSeconds(1), cost, 1);
+            try {
+                final var hash = BCrypt.hashpw(PASSWORD, BCrypt.gensalt(cost));
+                // Warm up the JIT before measuring
+                for (int i = 0; i < poolSize; i++) {
+                    hasher.matches(PASSWORD, hash);
+                }
+                report(cost, measure(hasher, hash, logins, concurrency));
+            } finally {
+                hasher.destroy();
+            }
+        }
+    }
+
+    private static Result measure(PasswordHasher hasher, String hash, int logins, int concurrency) throws Exception {
+        final ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+        try {
+            final List<Future<Long>> futures = new ArrayList<>(logins);
+            final var start = System.nanoTime();
+            for (int i = 0; i < logins; i++) {
+                futures.add(clients.submit(() -> {
+                    final var begin = System.nanoTime();
+                    assertTrue(hasher.matches(PASSWORD, hash));
+                    return System.nanoTime() - begin;
+                }));
+            }
+            final List<Long> latencies = new ArrayList<>(logins);
+            for (final var future : futures) {
+                latencies.add(future.get());
+            }
+            return new Result(latencies, System.nanoTime() - start);
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    private static void report(int cost, Result result) {
+        final var sorted = new ArrayList<>(result.latencies());
+        Collections.sort(sorted);
+        final var throughput = sorted.size() / (result.elapsedNanos() / 1e9);
+        System.out.printf("%6d %10.1f %10.1f %10.1f %12.1f%n",
+                cost, millis(percentile(sorted, 50)), millis(percentile(sorted, 99)),
+                millis(sorted.get(sorted.size() - 1)), throughput);
+    }
+
+    private static long percentile(List<Long> sorted, int percentile) {
+        final var index = (int) Math.ceil(percentile / 100.0 * sorted.size()) - 1;
+        return sorted.get(Math.max(0, index));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private record Result(List<Long> latencies, long elapsedNanos) {
+    }
+}
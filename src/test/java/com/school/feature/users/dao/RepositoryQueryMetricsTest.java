@@ -0,0 +1,71 @@
+package com.school.feature.users.dao;
+
+import com.school.BaseRepositoryTest;
+import com.school.config.QueryMetricsConfig;
+import com.school.feature.users.entity.User;
+import com.school.feature.users.entity.UserStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.aop.AopAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@ImportAutoConfiguration(AopAutoConfiguration.class)
+@Import({QueryMetricsConfig.class, RepositoryQueryMetricsTest.Metrics.class})
+public class RepositoryQueryMetricsTest extends BaseRepositoryTest {
+
+    @TestConfiguration
+    static class Metrics {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private IUserRepository userRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Test
+    public void given_repositoryCall_when_recorded_then_tagsStatementsAndRowsByMethod() {
+        // Given
+        userRepository.save(User.builder()
+                .email("metrics@test.com")
+                .firstName("Metrics")
+                .lastName("User")
+                .password("password")
+                .userStatus(UserStatus.ACTIVE)
+                .build());
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        userRepository.findByEmail("metrics@test.com");
+
+        // Then
+        final var statements = registry.get("repository.statements")
+                .tag("repository", "IUserRepository")
+                .tag("method", "findByEmail")
+                .summary();
+        final var rows = registry.get("repository.rows")
+                .tag("repository", "IUserRepository")
+                .tag("method", "findByEmail")
+                .summary();
+        assertEquals(1, statements.count());
+        assertEquals(1, statements.totalAmount());
+        assertEquals(1, rows.totalAmount());
+    }
+}
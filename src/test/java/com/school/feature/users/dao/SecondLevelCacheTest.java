@@ -0,0 +1,109 @@
+package com.school.feature.users.dao;
+
+import com.school.BaseRepositoryTest;
+import com.school.feature.users.entity.Role;
+import com.school.persistence.CacheRegions;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SecondLevelCacheTest extends BaseRepositoryTest {
+
+    @Autowired
+    private IRoleRepository roleRepository;
+
+    @Autowired
+    private IUserRepository userRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    public void given_roleLookedUp_when_findByNameAgain_then_servedFromCache() {
+        // Given
+        roleRepository.findByName("PARENT");
+        entityManager.clear();
+        statistics.clear();
+
+        // When
+        Role role = roleRepository.findByName("PARENT");
+
+        // Then
+        assertEquals("PARENT", role.getName());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getQueryRegionStatistics(CacheRegions.ROLE_BY_NAME).getHitCount());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void given_userLoaded_when_loadedAgain_then_rolesComeFromCache() {
+        // Given
+        // Entries are only visible to transactions that start after they were cached, so load in separate ones
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> roleNames("user_2"));
+        statistics.clear();
+
+        // When
+        Set<String> roleNames = transaction.execute(status -> roleNames("user_2"));
+
+        // Then
+        assertEquals(Set.of("ADMIN", "TEACHER"), roleNames);
+        // Only the user row is read, its user roles and their roles are cached
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getDomainDataRegionStatistics(CacheRegions.USER_ROLES).getHitCount());
+        assertEquals(2, statistics.getDomainDataRegionStatistics(CacheRegions.ROLE).getHitCount());
+    }
+
+    @Test
+    public void given_roleChangedInSql_when_evictRoleCache_then_findByNameReadsNewValue() {
+        // Given
+        String cachedPermissions = roleRepository.findByName("PARENT").getPermissions();
+        entityManager.clear();
+        jdbcTemplate.update("UPDATE role SET permissions = 'VIEW_ALL_CHILDREN' WHERE name = 'PARENT'");
+        assertEquals(cachedPermissions, roleRepository.findByName("PARENT").getPermissions());
+        entityManager.clear();
+
+        // When
+        roleRepository.evictRoleCache();
+        Role role = roleRepository.findByName("PARENT");
+
+        // Then
+        assertEquals("VIEW_ALL_CHILDREN", role.getPermissions());
+    }
+
+    private Set<String> roleNames(String userId) {
+        return userRepository.findById(userId).orElseThrow().getUserRoles().stream()
+                .map(userRole -> userRole.getRole().getName())
+                .collect(Collectors.toSet());
+    }
+}
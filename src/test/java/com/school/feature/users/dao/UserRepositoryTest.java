@@ -3,8 +3,10 @@ package com.school.feature.users.dao;
 import com.school.BaseRepositoryTest;
 import com.school.feature.users.entity.User;
 import com.school.feature.users.entity.UserStatus;
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 
 import java.util.List;
 import java.util.Optional;
@@ -16,6 +18,9 @@ public class UserRepositoryTest extends BaseRepositoryTest {
     @Autowired
     private IUserRepository userRepository;
 
+    @Autowired
+    private TestEntityManager entityManager;
+
     @Test
     public void given_user_when_findByEmail_then_returnsUser() {
         final var user = User.builder()
@@ -218,4 +223,22 @@ public class UserRepositoryTest extends BaseRepositoryTest {
         // When & Then
         assertThrows(Exception.class, () -> userRepository.save(user2));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void given_loadedUser_when_toStringAndHashCode_then_rolesStayUnloaded() {
+        // Given
+        User user = userRepository.findById("user_2").orElseThrow();
+
+        // When
+        String description = user.toString();
+        int hashCode = user.hashCode();
+
+        // Then
+        assertFalse(Hibernate.isInitialized(user.getUserRoles()));
+        assertFalse(description.contains("password"));
+        entityManager.clear();
+        User reloaded = userRepository.findById("user_2").orElseThrow();
+        assertEquals(user, reloaded);
+        assertEquals(hashCode, reloaded.hashCode());
+    }
+}
@@ -5,11 +5,17 @@ import com.school.authentication.TokenUtils;
 import com.school.feature.users.entity.User;
 import com.school.feature.users.entity.UserSession;
 import com.school.feature.users.entity.UserStatus;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -21,6 +27,9 @@ public class UserSessionRepositoryTest extends BaseRepositoryTest {
     @Autowired
     private IUserRepository userRepository;
 
+    @Autowired
+    private TestEntityManager entityManager;
+
     @Test
     public void given_userSession_when_save_then_returnsSavedUserSession() {
         // Given
@@ -258,4 +267,49 @@ public class UserSessionRepositoryTest extends BaseRepositoryTest {
         // Then
         assertFalse(foundUserSession.isPresent());
     }
-} 
\ No newline at end of file
+
+    @Test
+    public void given_savedUserSession_when_findById_then_userIsNotLoaded() {
+        // Given
+        String token = saveSessionFor("user_2");
+
+        // When
+        UserSession userSession = userSessionRepository.findById(token).orElseThrow();
+
+        // Then
+        assertFalse(Hibernate.isInitialized(userSession.getUser()));
+        assertEquals("user_2", userSession.getUser().getId());
+    }
+
+    @Test
+    public void given_savedUserSession_when_findByToken_then_loadsUserRolesInOneStatement() {
+        // Given
+        String token = saveSessionFor("user_2");
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // When
+        UserSession userSession = userSessionRepository.findByToken(token).orElseThrow();
+
+        // Then
+        assertTrue(Hibernate.isInitialized(userSession.getUser().getUserRoles()));
+        Set<String> roleNames = userSession.getUser().getUserRoles().stream()
+                .map(userRole -> userRole.getRole().getName())
+                .collect(Collectors.toSet());
+        assertEquals(Set.of("ADMIN", "TEACHER"), roleNames);
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    private String saveSessionFor(String userId) {
+        String token = TokenUtils.generateToken(32);
+        userSessionRepository.save(UserSession.builder()
+                .token(token)
+                .user(userRepository.getReferenceById(userId))
+                .active(true)
+                .build());
+        entityManager.flush();
+        entityManager.clear();
+        return token;
+    }
+}
@@ -0,0 +1,100 @@
+package com.school.persistence;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.PreparedStatement;
+import java.sql.Types;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class QueryMetricsListenerTest {
+
+    private SimpleMeterRegistry registry;
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        final var database = new JdbcDataSource();
+        database.setURL("jdbc:h2:mem:query_metrics_" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        final var setUp = new JdbcTemplate(database);
+        setUp.execute("create table marker (name varchar(20))");
+        setUp.batchUpdate("insert into marker (name) values (?)", List.of(new Object[]{"a"}, new Object[]{"b"}, new Object[]{"c"}));
+        jdbc = new JdbcTemplate(proxy(database, Duration.ofHours(1)));
+    }
+
+    @Test
+    public void given_openScope_when_runningStatements_then_countsStatementsAndRows() {
+        // Given
+        final var outer = QueryScope.open("outer");
+
+        // When
+        final QueryScope inner;
+        try (var scope = QueryScope.open("inner")) {
+            inner = scope;
+            jdbc.queryForList("select name from marker", String.class);
+        }
+        jdbc.update("update marker set name = ? where name = ?", "d", "c");
+        outer.close();
+
+        // Then
+        assertEquals(1, inner.getStatements());
+        assertEquals(3, inner.getRows());
+        assertEquals(2, outer.getStatements());
+        assertEquals(3, outer.getRows());
+        assertEquals(1, registry.get("jdbc.statements").tag("type", "select").timer().count());
+        assertEquals(1, registry.get("jdbc.statements").tag("type", "update").timer().count());
+        assertEquals(3, registry.get("jdbc.rows").counter().count());
+    }
+
+    @Test
+    public void given_zeroThreshold_when_runningStatement_then_countsSlowStatement() {
+        // Given
+        final var slowJdbc = new JdbcTemplate(proxy(jdbc.getDataSource(), Duration.ZERO));
+
+        // When
+        slowJdbc.queryForList("select name from marker", String.class);
+
+        // Then
+        assertEquals(1, registry.get("jdbc.statements.slow").counter().count());
+    }
+
+    @Test
+    public void given_bindParameters_when_redacting_then_onlyTypesRemain() throws Exception {
+        // Given
+        final var queryInfo = new QueryInfo("update user set password = ? where email = ? and status = ?");
+        queryInfo.getParametersList().add(List.of(
+                new ParameterSetOperation(PreparedStatement.class.getMethod("setString", int.class, String.class),
+                        new Object[]{1, "$2a$10$secret"}),
+                new ParameterSetOperation(PreparedStatement.class.getMethod("setString", int.class, String.class),
+                        new Object[]{2, "admin@test.com"}),
+                new ParameterSetOperation(PreparedStatement.class.getMethod("setNull", int.class, int.class),
+                        new Object[]{3, Types.VARCHAR})));
+        queryInfo.getParametersList().add(List.of());
+
+        // When
+        final var redacted = QueryMetricsListener.redact(List.of(queryInfo));
+
+        // Then
+        assertEquals("[String, String, null] and 1 more", redacted);
+    }
+
+    private DataSource proxy(DataSource dataSource, Duration slowThreshold) {
+        final var listener = new QueryMetricsListener(registry, slowThreshold);
+        return ProxyDataSourceBuilder.create(dataSource)
+                .listener(listener)
+                .proxyResultSet(listener.rowCountingResultSets())
+                .build();
+    }
+}
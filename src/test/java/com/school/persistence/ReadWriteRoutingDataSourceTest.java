@@ -0,0 +1,104 @@
+package com.school.persistence;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ReadWriteRoutingDataSourceTest {
+
+    private DataSource primary;
+    private DataSource replica;
+    private String currentUserId;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+        replica = database("replica");
+        currentUserId = null;
+    }
+
+    @Test
+    public void given_readOnlyTransaction_when_querying_then_usesReplica() {
+        // Given
+        final var routing = routing(Duration.ZERO);
+
+        // When
+        final var readOnly = query(routing, true);
+        final var readWrite = query(routing, false);
+
+        // Then
+        assertEquals("replica", readOnly);
+        assertEquals("primary", readWrite);
+    }
+
+    @Test
+    public void given_userWroteRecently_when_readOnlyTransaction_then_staysOnPrimary() {
+        // Given
+        final var routing = routing(Duration.ofMinutes(1));
+        currentUserId = "user_1";
+        query(routing, false);
+
+        // When
+        final var ownRead = query(routing, true);
+        currentUserId = "user_2";
+        final var otherRead = query(routing, true);
+
+        // Then
+        assertEquals("primary", ownRead);
+        assertEquals("replica", otherRead);
+    }
+
+    @Test
+    public void given_routedConnections_when_bindingMetrics_then_countsPerTarget() {
+        // Given
+        final var routing = routing(Duration.ZERO);
+        final var registry = new SimpleMeterRegistry();
+        routing.bindTo(registry);
+
+        // When
+        query(routing, true);
+        query(routing, true);
+        query(routing, false);
+
+        // Then
+        assertEquals(2, registry.get("datasource.routing").tag("target", "replica").functionCounter().count());
+        assertEquals(1, registry.get("datasource.routing").tag("target", "primary").functionCounter().count());
+    }
+
+    private ReadWriteRoutingDataSource routing(Duration readYourWrites) {
+        return new ReadWriteRoutingDataSource(primary, replica, readYourWrites, () -> Optional.ofNullable(currentUserId));
+    }
+
+    public static String query(ReadWriteRoutingDataSource routing, boolean readOnly) {
+        final var dataSource = new LazyConnectionDataSourceProxy(routing);
+        // Known defaults, otherwise the proxy borrows a connection to detect them
+        dataSource.setDefaultAutoCommit(true);
+        dataSource.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        final var transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status ->
+                new JdbcTemplate(dataSource).queryForObject("select name from marker", String.class));
+    }
+
+    public static DataSource database(String name) {
+        final var dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + "_" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        final var jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("create table marker (name varchar(20))");
+        jdbc.update("insert into marker (name) values (?)", name);
+        return dataSource;
+    }
+}
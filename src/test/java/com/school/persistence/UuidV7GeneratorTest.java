@@ -0,0 +1,53 @@
+package com.school.persistence;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UuidV7GeneratorTest {
+
+    @Test
+    public void given_manyIds_when_next_then_idsAreVersion7AndSortInCreationOrder() {
+        // Given
+        List<String> ids = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(UuidV7Generator.next());
+        }
+
+        // Then
+        List<String> sorted = new ArrayList<>(ids);
+        sorted.sort(null);
+        assertEquals(ids, sorted);
+        assertEquals(ids.size(), sorted.stream().distinct().count());
+        UUID first = UUID.fromString(ids.get(0));
+        assertEquals(7, first.version());
+        assertEquals(2, first.variant());
+        assertTrue(Math.abs((first.getMostSignificantBits() >>> 16) - System.currentTimeMillis()) < 60_000);
+    }
+
+    @Test
+    public void given_uuid_when_toBytesAndFromBytes_then_returnsSameString() {
+        // Given
+        String id = UuidV7Generator.next();
+
+        // When
+        byte[] bytes = IdStorage.toBytes(id);
+
+        // Then
+        assertEquals(16, bytes.length);
+        assertEquals(id, IdStorage.fromBytes(bytes));
+    }
+
+    @Test
+    public void given_idThatIsNotAUuid_when_toBytes_then_returnsEmptyValue() {
+        // When & Then
+        assertEquals(0, IdStorage.toBytes("user_1").length);
+        assertEquals(0, IdStorage.toBytes("1-2-3-4-5").length);
+    }
+}
@@ -0,0 +1,127 @@
+package com.school.service;
+
+import com.school.BaseServiceTest;
+import com.school.authentication.AuthenticatedUser;
+import com.school.exceptions.ValidationException;
+import com.school.feature.users.dao.IParentChildRepository;
+import com.school.feature.users.entity.*;
+import com.school.web.dtos.AddChildDTO;
+import com.school.web.dtos.ImportReportDTO;
+import com.school.web.dtos.ImportRowResultDTO;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ChildImportServiceTest extends BaseServiceTest {
+
+    @Autowired
+    private ChildImportService childImportService;
+
+    @Autowired
+    private IParentChildRepository parentChildRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private User adminUser;
+    private User parentUser;
+
+    @BeforeEach
+    void setUp() {
+        adminUser = saveUser("import.admin@test.com", "ADMIN");
+        parentUser = saveUser("import.parent@test.com", "PARENT");
+    }
+
+    @Test
+    public void given_validAndInvalidRows_when_importChildren_then_reportsEachRow() throws Exception {
+        // Given
+        List<AddChildDTO> rows = List.of(
+                child("Alice", parent(parentUser.getId(), "Mother")),
+                child("", parent(parentUser.getId(), "Mother")),
+                child("Carol", parent("missing-parent", "Father")),
+                child("Dave", parent(parentUser.getId(), "Father")));
+
+        // When
+        ImportReportDTO report = childImportService.importChildren(authenticated(adminUser), rows);
+
+        // Then
+        assertEquals(2, report.getCreated());
+        assertEquals(2, report.getRejected());
+        assertEquals(0, report.getFailed());
+        assertEquals(ImportRowResultDTO.Status.CREATED, report.getRows().get(0).getStatus());
+        assertNotNull(report.getRows().get(0).getId());
+        assertEquals(ImportRowResultDTO.Status.REJECTED, report.getRows().get(1).getStatus());
+        assertEquals(List.of("firstName is required"), report.getRows().get(1).getErrors());
+        assertEquals(ImportRowResultDTO.Status.REJECTED, report.getRows().get(2).getStatus());
+        assertEquals(List.of("Parent not found with id: missing-parent"), report.getRows().get(2).getErrors());
+        assertEquals(4, report.getRows().get(3).getRow());
+        assertEquals(2, parentChildRepository.findAll().stream()
+                .filter(link -> link.getParent().getId().equals(parentUser.getId()))
+                .count());
+    }
+
+    @Test
+    public void given_manyRows_when_importChildren_then_insertsInBatches() throws Exception {
+        // Given
+        List<AddChildDTO> rows = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            rows.add(child("Batch" + i, parent(parentUser.getId(), "Mother")));
+        }
+        AuthenticatedUser loggedInUser = authenticated(adminUser);
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // When
+        ImportReportDTO report = childImportService.importChildren(loggedInUser, rows);
+
+        // Then
+        assertEquals(20, report.getCreated());
+        // One lookup of the parents, then one batched insert each for child and parent_child
+        assertEquals(3, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void given_nonAdminUser_when_importChildren_then_returnsNull() throws Exception {
+        // When
+        ImportReportDTO report = childImportService.importChildren(authenticated(parentUser),
+                List.of(child("Alice", parent(parentUser.getId(), "Mother"))));
+
+        // Then
+        assertNull(report);
+    }
+
+    @Test
+    public void given_noRows_when_importChildren_then_throwsValidationException() {
+        // When & Then
+        assertThrows(ValidationException.class,
+                () -> childImportService.importChildren(authenticated(adminUser), List.of()));
+    }
+
+    private static AddChildDTO child(String firstName, AddChildDTO.ParentInfo parent) {
+        return AddChildDTO.builder()
+                .firstName(firstName)
+                .lastName("Imported")
+                .dateOfBirth(LocalDate.of(2016, 9, 1))
+                .parents(List.of(parent))
+                .build();
+    }
+
+    private static AddChildDTO.ParentInfo parent(String parentId, String relation) {
+        return AddChildDTO.ParentInfo.builder()
+                .parentId(parentId)
+                .relation(relation)
+                .build();
+    }
+}
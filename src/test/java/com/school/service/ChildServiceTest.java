@@ -1,22 +1,42 @@
 package com.school.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.school.BaseServiceTest;
+import com.school.authentication.AuthService;
+import com.school.authentication.AuthenticatedUser;
+import com.school.authentication.TokenUtils;
+import com.school.exceptions.ValidationException;
 import com.school.feature.users.dao.IChildRepository;
 import com.school.feature.users.dao.IParentChildRepository;
 import com.school.feature.users.dao.IRoleRepository;
 import com.school.feature.users.dao.IUserRepository;
 import com.school.feature.users.dao.IUserRoleRepository;
+import com.school.feature.users.dao.IUserSessionRepository;
 import com.school.feature.users.entity.*;
 import com.school.web.dtos.AddChildDTO;
 import com.school.web.dtos.ChildDTO;
+import com.school.web.dtos.ChildPageDTO;
+import com.school.web.dtos.ChildQueryDTO;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.EntityStatistics;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.security.crypto.bcrypt.BCrypt;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 
+import static com.school.support.PerformanceBudget.MB;
 import static org.junit.jupiter.api.Assertions.*;
 
 public class ChildServiceTest extends BaseServiceTest {
@@ -39,6 +59,15 @@ public class ChildServiceTest extends BaseServiceTest {
     @Autowired
     private IUserRoleRepository userRoleRepository;
 
+    @Autowired
+    private IUserSessionRepository userSessionRepository;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
     private User adminUser;
     private User parentUser;
     private Role adminRole;
@@ -111,7 +140,7 @@ public class ChildServiceTest extends BaseServiceTest {
                 .build();
 
         // When
-        ChildDTO childDTO = childService.addChild(adminUser, addChildDTO);
+        ChildDTO childDTO = childService.addChild(authenticated(adminUser), addChildDTO);
 
         // Then
         assertNotNull(childDTO);
@@ -146,7 +175,7 @@ public class ChildServiceTest extends BaseServiceTest {
                 .build();
 
         // When
-        ChildDTO childDTO = childService.addChild(parentUser, addChildDTO);
+        ChildDTO childDTO = childService.addChild(authenticated(parentUser), addChildDTO);
 
         // Then
         assertNull(childDTO);
@@ -191,7 +220,7 @@ public class ChildServiceTest extends BaseServiceTest {
                 .build();
 
         // When
-        ChildDTO childDTO = childService.addChild(adminUser, addChildDTO);
+        ChildDTO childDTO = childService.addChild(authenticated(adminUser), addChildDTO);
 
         // Then
         assertNotNull(childDTO);
@@ -206,7 +235,7 @@ public class ChildServiceTest extends BaseServiceTest {
     }
 
     @Test
-    public void given_adminUser_when_getAllChildren_then_returnsAllChildren() {
+    public void given_adminUser_when_getAllChildren_then_returnsAllChildren() throws Exception {
         // Given
         Child child1 = Child.builder()
                 .firstName("Child1")
@@ -225,22 +254,151 @@ public class ChildServiceTest extends BaseServiceTest {
         childRepository.save(child2);
 
         // When
-        List<ChildDTO> children = childService.getAllChildren(adminUser);
+        ChildPageDTO page = childService.getAllChildren(authenticated(adminUser), ChildQueryDTO.builder().build());
 
         // Then
-        assertNotNull(children);
+        assertNotNull(page);
+        List<ChildDTO> children = page.getChildren();
         assertTrue(children.size() >= 2);
         assertTrue(children.stream().anyMatch(c -> c.getFirstName().equals("Child1")));
         assertTrue(children.stream().anyMatch(c -> c.getFirstName().equals("Child2")));
     }
 
     @Test
-    public void given_nonAdminUser_when_getAllChildren_then_returnsNull() {
+    public void given_nonAdminUser_when_getAllChildren_then_returnsNull() throws Exception {
         // When
-        List<ChildDTO> children = childService.getAllChildren(parentUser);
+        ChildPageDTO page = childService.getAllChildren(authenticated(parentUser), ChildQueryDTO.builder().build());
 
         // Then
-        assertNull(children);
+        assertNull(page);
+    }
+
+    @Test
+    public void given_smallPageSize_when_getAllChildrenFollowingCursors_then_returnsEveryChildOnce() throws Exception {
+        // Given
+        for (int i = 0; i < 5; i++) {
+            childRepository.save(Child.builder()
+                    .firstName("Paged" + i)
+                    .lastName("Child")
+                    .dateOfBirth(LocalDate.of(2015, 1, 1))
+                    .status(UserStatus.ACTIVE)
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        AuthenticatedUser loggedInUser = authenticated(adminUser);
+
+        // When
+        List<String> ids = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            ChildPageDTO page = childService.getAllChildren(loggedInUser, ChildQueryDTO.builder()
+                    .cursor(cursor)
+                    .limit(2)
+                    .build());
+            assertTrue(page.getChildren().size() <= 2);
+            page.getChildren().forEach(child -> ids.add(child.getId()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        // Then
+        assertEquals(childRepository.count(), ids.size());
+        assertEquals(ids.size(), new HashSet<>(ids).size());
+        assertEquals((ids.size() + 1) / 2, pages);
+    }
+
+    @Test
+    public void given_statusAndNamePrefix_when_getAllChildren_then_returnsOnlyMatchingChildren() throws Exception {
+        // Given
+        childRepository.save(Child.builder()
+                .firstName("Active")
+                .lastName("Zyxwell")
+                .dateOfBirth(LocalDate.of(2015, 1, 1))
+                .status(UserStatus.ACTIVE)
+                .build());
+        childRepository.save(Child.builder()
+                .firstName("Disabled")
+                .lastName("Zyxwood")
+                .dateOfBirth(LocalDate.of(2015, 1, 1))
+                .status(UserStatus.DISABLED)
+                .build());
+        childRepository.save(Child.builder()
+                .firstName("Other")
+                .lastName("Abbott")
+                .dateOfBirth(LocalDate.of(2015, 1, 1))
+                .status(UserStatus.ACTIVE)
+                .build());
+
+        // When
+        ChildPageDTO page = childService.getAllChildren(authenticated(adminUser), ChildQueryDTO.builder()
+                .status(UserStatus.ACTIVE)
+                .namePrefix("Zyx")
+                .build());
+
+        // Then
+        assertEquals(1, page.getChildren().size());
+        assertEquals("Zyxwell", page.getChildren().get(0).getLastName());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    public void given_malformedCursor_when_getAllChildren_then_throwsValidationException() {
+        // When & Then
+        assertThrows(ValidationException.class, () -> childService.getAllChildren(authenticated(adminUser),
+                ChildQueryDTO.builder().cursor("not-a-cursor").build()));
+    }
+
+    @Test
+    public void given_childrenWithParents_when_writeExport_then_writesOneLinePerChildWithParents() throws Exception {
+        // Given
+        Child linkedChild = childRepository.save(Child.builder()
+                .firstName("Exported")
+                .lastName("Linked")
+                .dateOfBirth(LocalDate.of(2015, 1, 1))
+                .status(UserStatus.ACTIVE)
+                .build());
+        Child unlinkedChild = childRepository.save(Child.builder()
+                .firstName("Exported")
+                .lastName("Unlinked")
+                .dateOfBirth(LocalDate.of(2016, 1, 1))
+                .status(UserStatus.ACTIVE)
+                .build());
+        parentChildRepository.save(ParentChild.builder()
+                .parent(parentUser)
+                .child(linkedChild)
+                .relation("Father")
+                .status(UserRoleStatus.ENABLED)
+                .build());
+        parentChildRepository.save(ParentChild.builder()
+                .parent(adminUser)
+                .child(linkedChild)
+                .relation("Guardian")
+                .status(UserRoleStatus.ENABLED)
+                .build());
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // When
+        childService.writeExport(outputStream, adminUser.getId());
+
+        // Then
+        ObjectMapper objectMapper = new ObjectMapper();
+        Map<String, JsonNode> linesById = new HashMap<>();
+        for (String line : outputStream.toString(StandardCharsets.UTF_8).split("\n")) {
+            JsonNode node = objectMapper.readTree(line);
+            assertNull(linesById.put(node.get("id").asText(), node));
+        }
+        assertEquals(childRepository.count(), linesById.size());
+        assertEquals(2, linesById.get(linkedChild.getId()).get("parents").size());
+        assertEquals(0, linesById.get(unlinkedChild.getId()).get("parents").size());
+        assertEquals("Linked", linesById.get(linkedChild.getId()).get("lastName").asText());
+    }
+
+    @Test
+    public void given_nonAdminUser_when_exportChildren_then_returnsNull() {
+        // When & Then
+        assertNull(childService.exportChildren(authenticated(parentUser)));
     }
 
     @Test
@@ -255,7 +413,7 @@ public class ChildServiceTest extends BaseServiceTest {
         Child savedChild = childRepository.save(child);
 
         // When
-        ChildDTO childDTO = childService.getChildById(adminUser, savedChild.getId());
+        ChildDTO childDTO = childService.getChildById(authenticated(adminUser), savedChild.getId());
 
         // Then
         assertNotNull(childDTO);
@@ -276,7 +434,7 @@ public class ChildServiceTest extends BaseServiceTest {
         Child savedChild = childRepository.save(child);
 
         // When
-        ChildDTO childDTO = childService.getChildById(parentUser, savedChild.getId());
+        ChildDTO childDTO = childService.getChildById(authenticated(parentUser), savedChild.getId());
 
         // Then
         assertNull(childDTO);
@@ -302,7 +460,7 @@ public class ChildServiceTest extends BaseServiceTest {
         parentChildRepository.save(parentChild);
 
         // When
-        List<ChildDTO> children = childService.getChildrenByParentId(adminUser, parentUser.getId());
+        List<ChildDTO> children = childService.getChildrenByParentId(authenticated(adminUser), parentUser.getId());
 
         // Then
         assertNotNull(children);
@@ -331,7 +489,7 @@ public class ChildServiceTest extends BaseServiceTest {
         parentChildRepository.save(parentChild);
 
         // When
-        List<ChildDTO> children = childService.getChildrenByParentId(parentUser, parentUser.getId());
+        List<ChildDTO> children = childService.getChildrenByParentId(authenticated(parentUser), parentUser.getId());
 
         // Then
         assertNotNull(children);
@@ -339,6 +497,77 @@ public class ChildServiceTest extends BaseServiceTest {
         assertEquals("Own", children.get(0).getFirstName());
     }
 
+    @Test
+    public void given_resolvedSession_when_serviceCalls_then_noUserIsLoaded() throws Exception {
+        // Given
+        Child savedChild = childRepository.save(Child.builder()
+                .firstName("Loaded")
+                .lastName("Once")
+                .dateOfBirth(LocalDate.of(2015, 5, 15))
+                .status(UserStatus.ACTIVE)
+                .build());
+        parentChildRepository.save(ParentChild.builder()
+                .parent(parentUser)
+                .child(savedChild)
+                .relation("Father")
+                .status(UserRoleStatus.ENABLED)
+                .build());
+        String token = TokenUtils.generateToken(32);
+        userSessionRepository.save(UserSession.builder()
+                .token(token)
+                .user(adminUser)
+                .active(true)
+                .build());
+        entityManager.flush();
+        entityManager.clear();
+        AuthenticatedUser loggedInUser = authService.authenticate(token).orElseThrow();
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // When
+        childService.getAllChildren(loggedInUser, ChildQueryDTO.builder().build());
+        childService.getChildById(loggedInUser, savedChild.getId());
+        childService.getChildrenByParentId(loggedInUser, parentUser.getId());
+
+        // Then
+        EntityStatistics userStatistics = statistics.getEntityStatistics(User.class.getName());
+        assertEquals(0, userStatistics.getLoadCount());
+        assertEquals(0, userStatistics.getFetchCount());
+    }
+
+    @Test
+    public void given_parentWithSeveralChildren_when_getChildrenByParentId_then_issuesSingleStatement() {
+        // Given
+        for (int i = 0; i < 3; i++) {
+            Child child = childRepository.save(Child.builder()
+                    .firstName("Counted" + i)
+                    .lastName("Child")
+                    .dateOfBirth(LocalDate.of(2015, 1, 1))
+                    .status(UserStatus.ACTIVE)
+                    .build());
+            parentChildRepository.save(ParentChild.builder()
+                    .parent(parentUser)
+                    .child(child)
+                    .relation("Father")
+                    .status(i == 2 ? UserRoleStatus.DISABLED : UserRoleStatus.ENABLED)
+                    .build());
+        }
+        AuthenticatedUser loggedInUser = authenticated(parentUser);
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // When
+        List<ChildDTO> children = childService.getChildrenByParentId(loggedInUser, parentUser.getId());
+
+        // Then
+        assertEquals(2, children.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
     @Test
     public void given_parentUser_when_getOtherParentChildren_then_returnsNull() {
         // Given
@@ -368,7 +597,7 @@ public class ChildServiceTest extends BaseServiceTest {
         parentChildRepository.save(parentChild);
 
         // When
-        List<ChildDTO> children = childService.getChildrenByParentId(parentUser, otherParent.getId());
+        List<ChildDTO> children = childService.getChildrenByParentId(authenticated(parentUser), otherParent.getId());
 
         // Then
         assertNull(children);
@@ -377,6 +606,115 @@ public class ChildServiceTest extends BaseServiceTest {
     @Test
     public void given_adminUser_when_getChildByNonExistentId_then_throwsException() {
         // When & Then
-        assertThrows(RuntimeException.class, () -> childService.getChildById(adminUser, "non-existent-id"));
+        assertThrows(RuntimeException.class, () -> childService.getChildById(authenticated(adminUser), "non-existent-id"));
+    }
+
+    @Test
+    public void given_adminUser_when_addChild_then_staysWithinBudget() throws Throwable {
+        // Given
+        AuthenticatedUser loggedInUser = authenticated(adminUser);
+        AddChildDTO addChildDTO = AddChildDTO.builder()
+                .firstName("Budget")
+                .lastName("Child")
+                .dateOfBirth(LocalDate.of(2015, 5, 15))
+                .parents(List.of(
+                        AddChildDTO.ParentInfo.builder().parentId(parentUser.getId()).relation("Father").build(),
+                        AddChildDTO.ParentInfo.builder().parentId(adminUser.getId()).relation("Guardian").build()))
+                .build();
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        ChildDTO childDTO = withinBudget(4, 2 * MB, () -> childService.addChild(loggedInUser, addChildDTO));
+
+        // Then
+        assertNotNull(childDTO);
+    }
+
+    @Test
+    public void given_parentWithSeveralChildren_when_getChildrenByParentId_then_staysWithinBudget() throws Throwable {
+        // Given
+        saveChildrenOf(parentUser, 3);
+        AuthenticatedUser loggedInUser = authenticated(parentUser);
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        List<ChildDTO> children = withinBudget(1, 1 * MB,
+                () -> childService.getChildrenByParentId(loggedInUser, parentUser.getId()));
+
+        // Then
+        assertEquals(3, children.size());
+    }
+
+    @Test
+    public void given_severalChildren_when_getAllChildren_then_staysWithinBudget() throws Throwable {
+        // Given
+        saveChildrenOf(parentUser, 3);
+        AuthenticatedUser loggedInUser = authenticated(adminUser);
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        ChildPageDTO page = withinBudget(1, 3 * MB,
+                () -> childService.getAllChildren(loggedInUser, ChildQueryDTO.builder().build()));
+
+        // Then
+        assertFalse(page.getChildren().isEmpty());
+    }
+
+    @Test
+    public void given_severalChildren_when_exportChildren_then_staysWithinBudget() throws Throwable {
+        // Given
+        saveChildrenOf(parentUser, 3);
+        AuthenticatedUser loggedInUser = authenticated(adminUser);
+        entityManager.flush();
+        entityManager.clear();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // When
+        withinBudget(1, 3 * MB, () -> {
+            childService.exportChildren(loggedInUser).writeTo(outputStream);
+            return outputStream;
+        });
+
+        // Then
+        assertTrue(outputStream.size() > 0);
+    }
+
+    @Test
+    public void given_adminUser_when_getChildById_then_staysWithinBudget() throws Throwable {
+        // Given
+        Child child = saveChildrenOf(parentUser, 1).get(0);
+        AuthenticatedUser loggedInUser = authenticated(adminUser);
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        ChildDTO childDTO = withinBudget(1, 1 * MB,
+                () -> childService.getChildById(loggedInUser, child.getId()));
+
+        // Then
+        assertEquals(child.getId(), childDTO.getId());
+    }
+
+    private List<Child> saveChildrenOf(User parent, int count) {
+        List<Child> children = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Child child = childRepository.save(Child.builder()
+                    .firstName("Budget" + i)
+                    .lastName("Child")
+                    .dateOfBirth(LocalDate.of(2015, 1, 1))
+                    .status(UserStatus.ACTIVE)
+                    .build());
+            parentChildRepository.save(ParentChild.builder()
+                    .parent(parent)
+                    .child(child)
+                    .relation("Father")
+                    .status(UserRoleStatus.ENABLED)
+                    .build());
+            children.add(child);
+        }
+        return children;
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,201 @@
+package com.school.service;
+
+import com.school.BaseServiceTest;
+import com.school.exceptions.ValidationException;
+import com.school.feature.report.dao.IDailyReportRepository;
+import com.school.feature.report.entity.DailyReport;
+import com.school.feature.report.entity.Mood;
+import com.school.feature.users.entity.Child;
+import com.school.feature.users.entity.User;
+import com.school.persistence.UuidV7Generator;
+import com.school.web.dtos.ClassroomReportDTO;
+import com.school.web.dtos.DailyReportDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.school.support.PerformanceBudget.MB;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DailyReportServiceTest extends BaseServiceTest {
+
+    @Autowired
+    private DailyReportService dailyReportService;
+
+    @Autowired
+    private IDailyReportRepository dailyReportRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private User teacherUser;
+    private User parentUser;
+    private List<Child> classroom;
+
+    @BeforeEach
+    void setUp() {
+        teacherUser = saveUser("teacher@test.com", "TEACHER");
+        parentUser = saveUser("parent@test.com", "PARENT");
+
+        classroom = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            classroom.add(saveChild("Child" + i));
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    public void given_teacherUser_when_submitClassroom_then_writesReportsAndRollupsInBatches() throws Throwable {
+        // Given
+        final var date = LocalDate.now().minusDays(1);
+        final var submission = submission(date, 2);
+        final var teacher = authenticated(teacherUser);
+
+        // When
+        final Integer submitted = withinBudget(4, 6 * MB,
+                () -> dailyReportService.submitClassroom(teacher, submission));
+
+        // Then
+        assertEquals(30, submitted);
+        assertEquals(30, dailyReportRepository.count());
+        final var report = dailyReportRepository.findByChildIdAndReportDate(classroom.get(0).getId(), date).orElseThrow();
+        assertTrue(report.isPresent());
+        assertEquals(2, report.getMealsEaten());
+        assertEquals(60, report.getNapMinutes());
+        assertEquals(Mood.HAPPY, report.getMood());
+        assertEquals(teacherUser.getId(), report.getReportedBy().getId());
+    }
+
+    @Test
+    public void given_submittedClassroom_when_submittingAgain_then_updatesReports() throws Exception {
+        // Given
+        final var date = LocalDate.now();
+        dailyReportService.submitClassroom(authenticated(teacherUser), submission(date, 1));
+
+        // When
+        final Integer submitted = dailyReportService.submitClassroom(authenticated(teacherUser), submission(date, 3));
+        entityManager.clear();
+
+        // Then
+        assertEquals(30, submitted);
+        assertEquals(30, dailyReportRepository.count());
+        final var report = dailyReportRepository.findByChildIdAndReportDate(classroom.get(5).getId(), date).orElseThrow();
+        assertEquals(3, report.getMealsEaten());
+    }
+
+    @Test
+    public void given_upsertedClassroom_when_upsertingAgain_then_reportsCarryTheStoredIds() {
+        // Given
+        final var date = LocalDate.now();
+        final var first = reports(date, 1);
+        dailyReportRepository.upsertAll(first);
+
+        // When
+        final var second = reports(date, 3);
+        final var replaced = dailyReportRepository.upsertAll(second);
+        entityManager.clear();
+
+        // Then
+        assertEquals(30, replaced.size());
+        for (int i = 0; i < classroom.size(); i++) {
+            final var stored = dailyReportRepository.findByChildIdAndReportDate(classroom.get(i).getId(), date).orElseThrow();
+            assertEquals(first.get(i).getId(), stored.getId());
+            assertEquals(stored.getId(), second.get(i).getId());
+            assertEquals(3, stored.getMealsEaten());
+        }
+    }
+
+    @Test
+    public void given_parentUser_when_submitClassroom_then_returnsNull() throws Exception {
+        // When
+        final Integer submitted = dailyReportService.submitClassroom(authenticated(parentUser),
+                submission(LocalDate.now(), 1));
+
+        // Then
+        assertNull(submitted);
+        assertEquals(0, dailyReportRepository.count());
+    }
+
+    @Test
+    public void given_unknownChild_when_submitClassroom_then_throwsAndWritesNothing() {
+        // Given
+        final var submission = submission(LocalDate.now(), 1);
+        final var unknownId = UuidV7Generator.next();
+        submission.getReports().add(DailyReportDTO.builder().childId(unknownId).build());
+
+        // When
+        final var exception = assertThrows(ValidationException.class,
+                () -> dailyReportService.submitClassroom(authenticated(teacherUser), submission));
+
+        // Then
+        assertEquals("Child not found with id: " + unknownId, exception.getMessage());
+        assertEquals(0, dailyReportRepository.count());
+    }
+
+    @Test
+    public void given_invalidReports_when_submitClassroom_then_reportsEveryError() {
+        // Given
+        final var childId = classroom.get(0).getId();
+        final var submission = ClassroomReportDTO.builder()
+                .date(LocalDate.now())
+                .reports(List.of(
+                        DailyReportDTO.builder().childId(childId).napMinutes(-5).build(),
+                        DailyReportDTO.builder().childId(childId).mealsEaten(11).build()))
+                .build();
+
+        // When
+        final var exception = assertThrows(ValidationException.class,
+                () -> dailyReportService.submitClassroom(authenticated(teacherUser), submission));
+
+        // Then
+        assertEquals("reports[0]: napMinutes must be between 0 and 1440; "
+                + "reports[1]: child " + childId + " is reported more than once; "
+                + "reports[1]: mealsEaten must be between 0 and 10", exception.getMessage());
+    }
+
+    @Test
+    public void given_futureDate_when_submitClassroom_then_throwsValidationException() {
+        // Given
+        final var submission = submission(LocalDate.now().plusDays(1), 1);
+
+        // When & Then
+        assertThrows(ValidationException.class,
+                () -> dailyReportService.submitClassroom(authenticated(teacherUser), submission));
+    }
+
+    private List<DailyReport> reports(LocalDate date, int mealsEaten) {
+        return classroom.stream()
+                .map(child -> DailyReport.builder()
+                        .child(child)
+                        .reportDate(date)
+                        .present(true)
+                        .mealsEaten(mealsEaten)
+                        .napMinutes(60)
+                        .reportedBy(teacherUser)
+                        .build())
+                .toList();
+    }
+
+    private ClassroomReportDTO submission(LocalDate date, int mealsEaten) {
+        final List<DailyReportDTO> reports = new ArrayList<>();
+        for (Child child : classroom) {
+            reports.add(DailyReportDTO.builder()
+                    .childId(child.getId())
+                    .mealsEaten(mealsEaten)
+                    .napMinutes(60)
+                    .mood(Mood.HAPPY)
+                    .notes("Played outside")
+                    .build());
+        }
+        return ClassroomReportDTO.builder()
+                .date(date)
+                .reports(reports)
+                .build();
+    }
+}
@@ -0,0 +1,223 @@
+package com.school.service;
+
+import com.school.BaseServiceTest;
+import com.school.authentication.AuthenticatedUser;
+import com.school.exceptions.ValidationException;
+import com.school.feature.report.dao.IMonthlyReportRepository;
+import com.school.feature.report.entity.MonthlyReport;
+import com.school.feature.users.dao.IChildRepository;
+import com.school.feature.users.entity.Child;
+import com.school.feature.users.entity.User;
+import com.school.persistence.IdStorage;
+import com.school.persistence.UuidV7Generator;
+import com.school.web.dtos.ClassroomReportDTO;
+import com.school.web.dtos.DailyReportDTO;
+import com.school.web.dtos.MonthlyReportDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MonthlyReportServiceTest extends BaseServiceTest {
+
+    @Autowired
+    private MonthlyReportService monthlyReportService;
+
+    @Autowired
+    private DailyReportService dailyReportService;
+
+    @Autowired
+    private IMonthlyReportRepository monthlyReportRepository;
+
+    @Autowired
+    private IChildRepository childRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private User adminUser;
+    private User teacherUser;
+    private Child firstChild;
+    private Child secondChild;
+    private YearMonth month;
+
+    @BeforeEach
+    void setUp() {
+        adminUser = saveUser("admin@test.com", "ADMIN");
+        teacherUser = saveUser("teacher@test.com", "TEACHER");
+        firstChild = saveChild("First");
+        secondChild = saveChild("Second");
+        entityManager.flush();
+        entityManager.clear();
+        month = YearMonth.now().minusMonths(1);
+    }
+
+    @Test
+    public void given_submittedDays_when_getMonthlyReport_then_returnsTotals() throws Exception {
+        // Given
+        final var teacher = authenticated(teacherUser);
+        dailyReportService.submitClassroom(teacher, classroom(month.atDay(1),
+                report(firstChild, true, 2, 60, "Painted"), report(secondChild, false, 0, 0, null)));
+        dailyReportService.submitClassroom(teacher, classroom(month.atDay(2),
+                report(firstChild, true, 3, 90, null), report(secondChild, true, 1, 30, null)));
+        // A report in the next month is not counted
+        dailyReportService.submitClassroom(teacher, classroom(month.plusMonths(1).atDay(1),
+                report(firstChild, true, 3, 30, "Sang")));
+
+        // When
+        final MonthlyReportDTO report = monthlyReportService.getMonthlyReport(authenticated(adminUser), firstChild.getId(), month);
+
+        // Then
+        assertEquals(month, report.getMonth());
+        assertEquals(2, report.getDaysReported());
+        assertEquals(2, report.getDaysPresent());
+        assertEquals(5, report.getMealsEaten());
+        assertEquals(150, report.getNapMinutes());
+        assertEquals(1, report.getNotesCount());
+        assertEquals(2.5, report.getAverageMealsEaten());
+        assertEquals(75.0, report.getAverageNapMinutes());
+    }
+
+    @Test
+    public void given_resubmittedDay_when_submitClassroom_then_appliesOnlyTheDifference() throws Exception {
+        // Given
+        final var teacher = authenticated(teacherUser);
+        final var day = month.atDay(10);
+        dailyReportService.submitClassroom(teacher, classroom(day, report(firstChild, true, 1, 60, "Painted")));
+
+        // When
+        dailyReportService.submitClassroom(teacher, classroom(day, report(firstChild, false, 0, 0, null)));
+        entityManager.clear();
+
+        // Then
+        final var rollup = rollupOf(firstChild);
+        assertEquals(1, rollup.getDaysReported());
+        assertEquals(0, rollup.getDaysPresent());
+        assertEquals(0, rollup.getMealsEaten());
+        assertEquals(0, rollup.getNapMinutes());
+        assertEquals(0, rollup.getNotesCount());
+    }
+
+    @Test
+    public void given_driftedRollups_when_rebuild_then_correctsThemFromDailyReports() throws Exception {
+        // Given
+        final var teacher = authenticated(teacherUser);
+        dailyReportService.submitClassroom(teacher, classroom(month.atDay(3),
+                report(firstChild, true, 2, 45, null), report(secondChild, true, 1, 30, "Slept well")));
+        final var ids = IdStorage.current();
+        jdbcTemplate.update("UPDATE monthly_report SET meals_eaten = 99 WHERE child_id = ?", ids.toJdbc(firstChild.getId()));
+        jdbcTemplate.update("DELETE FROM daily_report WHERE child_id = ?", ids.toJdbc(secondChild.getId()));
+        entityManager.clear();
+
+        // When
+        final Integer corrected = monthlyReportService.rebuildMonth(authenticated(adminUser), month);
+        entityManager.clear();
+
+        // Then
+        assertEquals(2, corrected);
+        assertEquals(2, rollupOf(firstChild).getMealsEaten());
+        assertTrue(monthlyReportRepository.findByChildIdAndReportMonth(secondChild.getId(), month.atDay(1)).isEmpty());
+        assertEquals(0, monthlyReportService.rebuildMonth(authenticated(adminUser), month));
+    }
+
+    @Test
+    public void given_zeroRollupWithoutDailyReports_when_rebuild_then_deletesIt() throws Exception {
+        // Given
+        final var ids = IdStorage.current();
+        jdbcTemplate.update("INSERT INTO monthly_report (id, child_id, report_month, days_reported, days_present,"
+                        + " meals_eaten, nap_minutes, notes_count, created, updated) VALUES (?, ?, ?, 0, 0, 0, 0, 0, NOW(), NOW())",
+                ids.toJdbc(UuidV7Generator.next()), ids.toJdbc(firstChild.getId()), Date.valueOf(month.atDay(1)));
+
+        // When
+        final Integer corrected = monthlyReportService.rebuildMonth(authenticated(adminUser), month);
+        entityManager.clear();
+
+        // Then
+        assertEquals(1, corrected);
+        assertTrue(monthlyReportRepository.findByChildIdAndReportMonth(firstChild.getId(), month.atDay(1)).isEmpty());
+    }
+
+    @Test
+    public void given_missingRollup_when_rebuild_then_createsItInBatches() throws Exception {
+        // Given
+        dailyReportService.submitClassroom(authenticated(teacherUser), classroom(month.atDay(4),
+                report(firstChild, true, 2, 45, null), report(secondChild, true, 1, 30, null)));
+        jdbcTemplate.update("DELETE FROM monthly_report");
+        final var rebuilder = new MonthlyReportService(monthlyReportRepository, childRepository, transactionManager, 1);
+
+        // When
+        final var corrected = rebuilder.rebuild(month);
+        entityManager.clear();
+
+        // Then
+        assertEquals(2, corrected);
+        assertEquals(1, rollupOf(firstChild).getDaysReported());
+        assertEquals(30, rollupOf(secondChild).getNapMinutes());
+    }
+
+    @Test
+    public void given_noReports_when_getMonthlyReport_then_returnsEmptyMonth() throws Exception {
+        // When
+        final MonthlyReportDTO report = monthlyReportService.getMonthlyReport(authenticated(adminUser), firstChild.getId(), month);
+
+        // Then
+        assertEquals(firstChild.getId(), report.getChildId());
+        assertEquals(0, report.getDaysReported());
+        assertNull(report.getAverageMealsEaten());
+    }
+
+    @Test
+    public void given_unknownChild_when_getMonthlyReport_then_throwsValidationException() {
+        // Given
+        final AuthenticatedUser admin = authenticated(adminUser);
+
+        // When & Then
+        assertThrows(ValidationException.class,
+                () -> monthlyReportService.getMonthlyReport(admin, UuidV7Generator.next(), month));
+    }
+
+    @Test
+    public void given_teacherUser_when_rebuildMonth_then_returnsNull() {
+        // When
+        final Integer corrected = monthlyReportService.rebuildMonth(authenticated(teacherUser), month);
+
+        // Then
+        assertNull(corrected);
+    }
+
+    private MonthlyReport rollupOf(Child child) {
+        return monthlyReportRepository.findByChildIdAndReportMonth(child.getId(), month.atDay(1)).orElseThrow();
+    }
+
+    private static ClassroomReportDTO classroom(LocalDate date, DailyReportDTO... reports) {
+        return ClassroomReportDTO.builder()
+                .date(date)
+                .reports(List.of(reports))
+                .build();
+    }
+
+    private static DailyReportDTO report(Child child, boolean present, int mealsEaten, int napMinutes, String notes) {
+        return DailyReportDTO.builder()
+                .childId(child.getId())
+                .present(present)
+                .mealsEaten(mealsEaten)
+                .napMinutes(napMinutes)
+                .notes(notes)
+                .build();
+    }
+}
@@ -0,0 +1,154 @@
+package com.school.service;
+
+import com.school.BaseServiceTest;
+import com.school.authentication.AuthenticatedUser;
+import com.school.feature.users.dao.IRoleRepository;
+import com.school.feature.users.dao.IUserRepository;
+import com.school.feature.users.dao.IUserRoleRepository;
+import com.school.feature.users.entity.*;
+import com.school.web.dtos.ImportReportDTO;
+import com.school.web.dtos.ImportRowResultDTO;
+import com.school.web.dtos.UserDTO;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParentImportServiceTest extends BaseServiceTest {
+
+    @Autowired
+    private ParentImportService parentImportService;
+
+    @Autowired
+    private IUserRepository userRepository;
+
+    @Autowired
+    private IRoleRepository roleRepository;
+
+    @Autowired
+    private IUserRoleRepository userRoleRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private User adminUser;
+
+    @BeforeEach
+    void setUp() {
+        adminUser = userRepository.save(User.builder()
+                .email("import.admin@test.com")
+                .firstName("Import")
+                .lastName("Admin")
+                .password("password")
+                .userStatus(UserStatus.ACTIVE)
+                .build());
+        Role adminRole = roleRepository.findByName("ADMIN");
+        userRoleRepository.save(UserRole.builder()
+                .id(UserRoleId.builder()
+                        .userId(adminUser.getId())
+                        .roleId(adminRole.getId())
+                        .build())
+                .user(adminUser)
+                .role(adminRole)
+                .build());
+    }
+
+    @Test
+    public void given_newDuplicateAndInvalidRows_when_importParents_then_reportsEachRow() throws Exception {
+        // Given
+        List<UserDTO> rows = List.of(
+                parent("new.parent@test.com", "secret"),
+                parent("IMPORT.ADMIN@test.com", "secret"),
+                parent("new.parent@test.com", "secret"),
+                parent("not-an-email", "secret"),
+                parent("other.parent@test.com", null),
+                parent("third.parent@test.com", "another"),
+                // 25 characters, but 75 bytes once encoded
+                parent("euro.parent@test.com", "€".repeat(25)),
+                // 71 characters and so too long only with the surrounding spaces
+                parent("spaced.parent@test.com", " " + "p".repeat(71) + " "));
+
+        // When
+        ImportReportDTO report = parentImportService.importParents(authenticated(adminUser), rows);
+
+        // Then
+        assertEquals(2, report.getCreated());
+        assertEquals(6, report.getRejected());
+        assertEquals(List.of("A user with this email already exists"), report.getRows().get(1).getErrors());
+        assertEquals(List.of("Email also used in row 1"), report.getRows().get(2).getErrors());
+        assertEquals(ImportRowResultDTO.Status.REJECTED, report.getRows().get(3).getStatus());
+        assertEquals(List.of("password is required"), report.getRows().get(4).getErrors());
+        assertEquals(List.of("password is longer than 72 bytes"), report.getRows().get(6).getErrors());
+        assertEquals(List.of("password is longer than 72 bytes"), report.getRows().get(7).getErrors());
+
+        entityManager.clear();
+        User created = userRepository.findByEmail("new.parent@test.com").orElseThrow();
+        assertEquals(report.getRows().get(0).getId(), created.getId());
+        assertTrue(BCrypt.checkpw("secret", created.getPassword()));
+        assertEquals(1, created.getUserRoles().size());
+        assertEquals("PARENT", created.getUserRoles().get(0).getRole().getName());
+        assertTrue(userRepository.findByEmail("other.parent@test.com").isEmpty());
+        User other = userRepository.findByEmail("third.parent@test.com").orElseThrow();
+        assertTrue(BCrypt.checkpw("another", other.getPassword()));
+    }
+
+    @Test
+    public void given_manyRows_when_importParents_then_insertsInBatches() throws Exception {
+        // Given
+        List<UserDTO> rows = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            rows.add(parent("batch" + i + "@test.com", "secret"));
+        }
+        AuthenticatedUser loggedInUser = authenticated(adminUser);
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // When
+        ImportReportDTO report = parentImportService.importParents(loggedInUser, rows);
+
+        // Then
+        assertEquals(10, report.getCreated());
+        assertTrue(report.getRowsPerSecond() > 0);
+        // Email check and role lookup, then one batched insert each for user and user_role
+        assertEquals(4, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void given_userWithoutCreatePermission_when_importParents_then_returnsNull() throws Exception {
+        // Given
+        User teacher = userRepository.save(User.builder()
+                .email("import.teacher@test.com")
+                .firstName("Import")
+                .lastName("Teacher")
+                .password("password")
+                .userStatus(UserStatus.ACTIVE)
+                .build());
+
+        // When
+        ImportReportDTO report = parentImportService.importParents(authenticated(teacher),
+                List.of(parent("denied@test.com", "secret")));
+
+        // Then
+        assertNull(report);
+    }
+
+    private static UserDTO parent(String email, String password) {
+        return UserDTO.builder()
+                .firstName("Imported")
+                .lastName("Parent")
+                .email(email)
+                .password(password)
+                .build();
+    }
+}
@@ -1,8 +1,11 @@
 package com.school.service;
 
 import com.school.BaseServiceTest;
+import com.school.authentication.AuthenticatedUser;
+import com.school.authentication.SessionCache;
 import com.school.authentication.TokenUtils;
 import com.school.exceptions.InvalidCredentialsException;
+import com.school.exceptions.ValidationException;
 import com.school.feature.users.dao.IRoleRepository;
 import com.school.feature.users.dao.IUserRepository;
 import com.school.feature.users.dao.IUserRoleRepository;
@@ -10,13 +13,34 @@ import com.school.feature.users.dao.IUserSessionRepository;
 import com.school.feature.users.entity.*;
 import com.school.web.dtos.LogInLogOutDTO;
 import com.school.web.dtos.UserDTO;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.crypto.bcrypt.BCrypt;
-
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
-
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.school.support.PerformanceBudget.MB;
 import static org.junit.jupiter.api.Assertions.*;
 
 public class UserServiceTest extends BaseServiceTest {
@@ -36,6 +60,18 @@ public class UserServiceTest extends BaseServiceTest {
     @Autowired
     private IUserRoleRepository userRoleRepository;
 
+    @Autowired
+    private SessionCache sessionCache;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     private User testUser;
     private Role adminRole;
     private Role parentRole;
@@ -94,7 +130,7 @@ public class UserServiceTest extends BaseServiceTest {
     }
 
     @Test
-    public void given_validCredentials_when_validateUser_then_returnsUserSession() throws InvalidCredentialsException {
+    public void given_validCredentials_when_validateUser_then_returnsUserSession() throws Exception {
         // Given
         LogInLogOutDTO loginDTO = new LogInLogOutDTO();
         loginDTO.setEmail("admin@test.com");
@@ -111,6 +147,23 @@ public class UserServiceTest extends BaseServiceTest {
         assertEquals(32, userSession.getToken().length());
     }
 
+    @Test
+    public void given_hashWithOtherCost_when_validateUser_then_rehashesPassword() throws Exception {
+        // Given
+        userRepository.updatePassword(testUser.getId(), BCrypt.hashpw("password", BCrypt.gensalt(4)));
+        LogInLogOutDTO loginDTO = new LogInLogOutDTO();
+        loginDTO.setEmail("admin@test.com");
+        loginDTO.setPassword("password");
+
+        // When
+        userService.validateUser(loginDTO);
+
+        // Then
+        String storedHash = userRepository.findById(testUser.getId()).get().getPassword();
+        assertTrue(storedHash.startsWith("$2a$10$"));
+        assertTrue(BCrypt.checkpw("password", storedHash));
+    }
+
     @Test
     public void given_invalidEmail_when_validateUser_then_throwsException() {
         // Given
@@ -134,7 +187,7 @@ public class UserServiceTest extends BaseServiceTest {
     }
 
     @Test
-    public void given_existingActiveSession_when_validateUser_then_returnsExistingSession() throws InvalidCredentialsException {
+    public void given_existingActiveSession_when_validateUser_then_returnsExistingSession() throws Exception {
         // Given
         String token = TokenUtils.generateToken(32);
         UserSession existingSession = UserSession.builder()
@@ -157,6 +210,146 @@ public class UserServiceTest extends BaseServiceTest {
         assertTrue(userSession.isActive());
     }
 
+    @Test
+    public void given_existingActiveSession_when_validateUser_then_issuesSingleStatement() throws Exception {
+        // Given
+        userSessionRepository.save(UserSession.builder()
+                .token(TokenUtils.generateToken(32))
+                .user(testUser)
+                .active(true)
+                .build());
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        LogInLogOutDTO loginDTO = new LogInLogOutDTO();
+        loginDTO.setEmail("admin@test.com");
+        loginDTO.setPassword("password");
+
+        // When
+        UserSession userSession = userService.validateUser(loginDTO);
+
+        // Then
+        assertNotNull(userSession);
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void given_expiredSession_when_validateUser_then_deactivatesItWithOneUpdate() throws Exception {
+        // Given
+        String expiredToken = TokenUtils.generateToken(32);
+        userSessionRepository.save(UserSession.builder()
+                .token(expiredToken)
+                .user(testUser)
+                .active(true)
+                .build());
+        entityManager.flush();
+        jdbcTemplate.update("UPDATE user_session SET created = ? WHERE token = ?",
+                Timestamp.from(Instant.now().minus(13, ChronoUnit.HOURS)), expiredToken);
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        LogInLogOutDTO loginDTO = new LogInLogOutDTO();
+        loginDTO.setEmail("admin@test.com");
+        loginDTO.setPassword("password");
+
+        // When
+        UserSession userSession = userService.validateUser(loginDTO);
+
+        // Then
+        assertNotEquals(expiredToken, userSession.getToken());
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(Boolean.FALSE, jdbcTemplate.queryForObject(
+                "SELECT active FROM user_session WHERE token = ?", Boolean.class, expiredToken));
+    }
+
+    @Test
+    public void given_noActiveSession_when_validateUser_then_issuesSelectAndInsert() throws Exception {
+        // Given
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        LogInLogOutDTO loginDTO = new LogInLogOutDTO();
+        loginDTO.setEmail("admin@test.com");
+        loginDTO.setPassword("password");
+
+        // When
+        UserSession userSession = userService.validateUser(loginDTO);
+
+        // Then
+        assertNotNull(userSession);
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void given_sessionCachedBeforeCommit_when_disableUser_then_cacheIsPurgedAfterCommit() {
+        // Given
+        String token = TokenUtils.generateToken(32);
+        UserSession session = userSessionRepository.save(UserSession.builder()
+                .token(token)
+                .user(testUser)
+                .active(true)
+                .build());
+        AuthenticatedUser admin = authenticated(testUser);
+
+        // When
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            try {
+                userService.disableUser(admin, testUser.getId());
+            } catch (ValidationException e) {
+                throw new IllegalStateException(e);
+            }
+            // A concurrent request still sees the uncommitted row as active and caches it
+            sessionCache.get(token, t -> Optional.of(session));
+        });
+
+        // Then
+        assertTrue(sessionCache.get(token, t -> Optional.empty()).isEmpty());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void given_concurrentLogins_when_validateUser_then_allReturnSameSession() throws Exception {
+        // Given
+        int logins = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(logins);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<UserSession>> futures = new ArrayList<>();
+
+        // When
+        try {
+            for (int i = 0; i < logins; i++) {
+                futures.add(executor.submit(() -> {
+                    LogInLogOutDTO loginDTO = new LogInLogOutDTO();
+                    loginDTO.setEmail("admin@test.com");
+                    loginDTO.setPassword("password");
+                    start.await();
+                    return userService.validateUser(loginDTO);
+                }));
+            }
+            start.countDown();
+
+            // Then
+            Set<String> tokens = new HashSet<>();
+            for (Future<UserSession> future : futures) {
+                tokens.add(future.get(30, TimeUnit.SECONDS).getToken());
+            }
+            assertEquals(1, tokens.size());
+            UserSession activeSession = userSessionRepository.findByUserIdAndActive(testUser.getId(), true);
+            assertEquals(tokens.iterator().next(), activeSession.getToken());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     @Test
     public void given_validToken_when_invalidateSession_then_deactivatesSession() {
         // Given
@@ -206,16 +399,178 @@ public class UserServiceTest extends BaseServiceTest {
     }
 
     @Test
-    public void given_adminUser_when_addParent_then_returnsCreatedParent() {
+    public void given_cachedSession_when_invalidateSession_then_evictsCachedSession() {
+        // Given
+        String token = TokenUtils.generateToken(32);
+        UserSession userSession = UserSession.builder()
+                .token(token)
+                .user(testUser)
+                .active(true)
+                .build();
+        userSessionRepository.save(userSession);
+        assertTrue(sessionCache.get(token, userSessionRepository::findByToken).isPresent());
+
+        // When
+        boolean result = userService.invalidateSession(token);
+
+        // Then
+        assertTrue(result);
+        Optional<UserSession> reloaded = sessionCache.get(token, userSessionRepository::findByToken);
+        assertTrue(reloaded.isPresent());
+        assertFalse(reloaded.get().isActive());
+    }
+
+    @Test
+    public void given_activeSession_when_invalidateSession_then_issuesSingleUpdate() {
+        // Given
+        String token = TokenUtils.generateToken(32);
+        userSessionRepository.save(UserSession.builder()
+                .token(token)
+                .user(testUser)
+                .active(true)
+                .build());
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // When
+        boolean result = userService.invalidateSession(token);
+
+        // Then
+        assertTrue(result);
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertFalse(userSessionRepository.findById(token).orElseThrow().isActive());
+    }
+
+    @Test
+    public void given_cachedSessions_when_revokeAllSessions_then_deactivatesAndEvictsThem() {
+        // Given
+        String oldToken = TokenUtils.generateToken(32);
+        userSessionRepository.save(UserSession.builder()
+                .token(oldToken)
+                .user(testUser)
+                .active(false)
+                .build());
+        String token = TokenUtils.generateToken(32);
+        userSessionRepository.save(UserSession.builder()
+                .token(token)
+                .user(testUser)
+                .active(true)
+                .build());
+        assertTrue(sessionCache.get(token, userSessionRepository::findByToken).isPresent());
+        AuthenticatedUser admin = authenticated(testUser);
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // When
+        Integer revoked = userService.revokeAllSessions(admin, testUser.getId());
+
+        // Then
+        assertEquals(1, revoked);
+        assertEquals(1, statistics.getPrepareStatementCount());
+        Optional<UserSession> reloaded = sessionCache.get(token, userSessionRepository::findByToken);
+        assertTrue(reloaded.isPresent());
+        assertFalse(reloaded.get().isActive());
+    }
+
+    @Test
+    public void given_nonAdminUser_when_revokeAllSessions_then_onlyRevokesOwnSessions() {
+        // Given
+        User parent = userRepository.save(User.builder()
+                .email("parent@test.com")
+                .firstName("Test")
+                .lastName("Parent")
+                .password(BCrypt.hashpw("password", BCrypt.gensalt()))
+                .userStatus(UserStatus.ACTIVE)
+                .build());
+        userSessionRepository.save(UserSession.builder()
+                .token(TokenUtils.generateToken(32))
+                .user(parent)
+                .active(true)
+                .build());
+
+        // When
+        Integer otherUser = userService.revokeAllSessions(authenticated(parent), testUser.getId());
+        Integer ownSessions = userService.revokeAllSessions(authenticated(parent), parent.getId());
+
+        // Then
+        assertNull(otherUser);
+        assertEquals(1, ownSessions);
+        assertNull(userSessionRepository.findByUserIdAndActive(parent.getId(), true));
+    }
+
+    @Test
+    public void given_adminUser_when_disableUser_then_userCannotLogIn() throws Exception {
+        // Given
+        User parent = userRepository.save(User.builder()
+                .email("parent@test.com")
+                .firstName("Test")
+                .lastName("Parent")
+                .password(BCrypt.hashpw("password", BCrypt.gensalt()))
+                .userStatus(UserStatus.ACTIVE)
+                .build());
+        userSessionRepository.save(UserSession.builder()
+                .token(TokenUtils.generateToken(32))
+                .user(parent)
+                .active(true)
+                .build());
+        LogInLogOutDTO loginDTO = new LogInLogOutDTO();
+        loginDTO.setEmail("parent@test.com");
+        loginDTO.setPassword("password");
+
+        // When
+        Integer revoked = userService.disableUser(authenticated(testUser), parent.getId());
+
+        // Then
+        assertEquals(1, revoked);
+        assertEquals(UserStatus.DISABLED, userRepository.findById(parent.getId()).orElseThrow().getUserStatus());
+        assertNull(userSessionRepository.findByUserIdAndActive(parent.getId(), true));
+        assertThrows(InvalidCredentialsException.class, () -> userService.validateUser(loginDTO));
+    }
+
+    @Test
+    public void given_unknownUser_when_disableUser_then_throwsException() {
+        // When & Then
+        assertThrows(ValidationException.class,
+                () -> userService.disableUser(authenticated(testUser), "non-existent-user"));
+    }
+
+    @Test
+    public void given_nonAdminUser_when_disableUser_then_returnsNull() throws Exception {
+        // Given
+        User parent = userRepository.save(User.builder()
+                .email("parent@test.com")
+                .firstName("Test")
+                .lastName("Parent")
+                .password(BCrypt.hashpw("password", BCrypt.gensalt()))
+                .userStatus(UserStatus.ACTIVE)
+                .build());
+
+        // When
+        Integer revoked = userService.disableUser(authenticated(parent), parent.getId());
+
+        // Then
+        assertNull(revoked);
+        assertEquals(UserStatus.ACTIVE, userRepository.findById(parent.getId()).orElseThrow().getUserStatus());
+    }
+
+    @Test
+    public void given_adminUser_when_addParent_then_returnsCreatedParent() throws Exception {
         // Given
         UserDTO parentDTO = UserDTO.builder()
                 .email("newparent@test.com")
                 .firstName("New")
                 .lastName("Parent")
+                .password("parent-secret")
                 .build();
 
         // When
-        User createdParent = userService.addParent(testUser, parentDTO);
+        User createdParent = userService.addParent(authenticated(testUser), parentDTO);
 
         // Then
         assertNotNull(createdParent);
@@ -223,7 +578,7 @@ public class UserServiceTest extends BaseServiceTest {
         assertEquals("New", createdParent.getFirstName());
         assertEquals("Parent", createdParent.getLastName());
         assertEquals(UserStatus.ACTIVE, createdParent.getUserStatus());
-        assertEquals("password", createdParent.getPassword());
+        assertTrue(BCrypt.checkpw("parent-secret", createdParent.getPassword()));
 
         // Verify parent role was assigned
         UserRoleId userRoleId = UserRoleId.builder()
@@ -236,7 +591,7 @@ public class UserServiceTest extends BaseServiceTest {
     }
 
     @Test
-    public void given_nonAdminUser_when_addParent_then_returnsNull() {
+    public void given_nonAdminUser_when_addParent_then_returnsNull() throws Exception {
         // Given
         User nonAdminUser = User.builder()
                 .email("nonadmin@test.com")
@@ -251,17 +606,52 @@ public class UserServiceTest extends BaseServiceTest {
                 .email("parent@test.com")
                 .firstName("Test")
                 .lastName("Parent")
+                .password("parent-secret")
                 .build();
 
         // When
-        User createdParent = userService.addParent(nonAdminUser, parentDTO);
+        User createdParent = userService.addParent(authenticated(nonAdminUser), parentDTO);
 
         // Then
         assertNull(createdParent);
     }
 
     @Test
-    public void given_adminUser_when_addParentWithExistingEmail_then_throwsException() {
+    public void given_adminUser_when_addParentWithoutPassword_then_throwsValidationException() {
+        // Given
+        UserDTO parentDTO = UserDTO.builder()
+                .email("nopassword@test.com")
+                .firstName("No")
+                .lastName("Password")
+                .build();
+
+        // When & Then
+        ValidationException exception = assertThrows(ValidationException.class,
+                () -> userService.addParent(authenticated(testUser), parentDTO));
+        assertEquals("password is required", exception.getMessage());
+        assertTrue(userRepository.findByEmail("nopassword@test.com").isEmpty());
+    }
+
+    @Test
+    public void given_adminUser_when_addParentWithMultiBytePassword_then_limitsItInBytes() {
+        // Given
+        UserDTO parentDTO = UserDTO.builder()
+                .email("longpassword@test.com")
+                .firstName("Long")
+                .lastName("Password")
+                // 25 characters, but 75 bytes once encoded
+                .password("€".repeat(25))
+                .build();
+
+        // When & Then
+        ValidationException exception = assertThrows(ValidationException.class,
+                () -> userService.addParent(authenticated(testUser), parentDTO));
+        assertEquals("password is longer than 72 bytes", exception.getMessage());
+        assertTrue(userRepository.findByEmail("longpassword@test.com").isEmpty());
+    }
+
+    @Test
+    public void given_adminUser_when_addParentWithExistingEmail_then_throwsException() throws Exception {
         // Given
         User existingUser = User.builder()
                 .email("existing@test.com")
@@ -276,9 +666,140 @@ public class UserServiceTest extends BaseServiceTest {
                 .email("existing@test.com")
                 .firstName("New")
                 .lastName("Parent")
+                .password("parent-secret")
                 .build();
 
         // When & Then
-        assertThrows(Exception.class, () -> userService.addParent(testUser, parentDTO));
+        assertThrows(Exception.class, () -> userService.addParent(authenticated(testUser), parentDTO));
+    }
+
+    @Test
+    public void given_existingUser_when_getUserByEmail_then_staysWithinBudget() throws Throwable {
+        // Given
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        User user = withinBudget(1, 1 * MB, () -> userService.getUserByEmail("admin@test.com"));
+
+        // Then
+        assertEquals(testUser.getId(), user.getId());
+    }
+
+    @Test
+    public void given_existingActiveSession_when_validateUser_then_staysWithinBudget() throws Throwable {
+        // Given
+        userSessionRepository.save(UserSession.builder()
+                .token(TokenUtils.generateToken(32))
+                .user(testUser)
+                .active(true)
+                .build());
+        entityManager.flush();
+        entityManager.clear();
+        LogInLogOutDTO loginDTO = new LogInLogOutDTO();
+        loginDTO.setEmail("admin@test.com");
+        loginDTO.setPassword("password");
+
+        // When
+        UserSession userSession = withinBudget(1, 4 * MB, () -> userService.validateUser(loginDTO));
+
+        // Then
+        assertTrue(userSession.isActive());
+    }
+
+    @Test
+    public void given_noActiveSession_when_validateUser_then_staysWithinBudget() throws Throwable {
+        // Given
+        entityManager.flush();
+        entityManager.clear();
+        LogInLogOutDTO loginDTO = new LogInLogOutDTO();
+        loginDTO.setEmail("admin@test.com");
+        loginDTO.setPassword("password");
+
+        // When
+        UserSession userSession = withinBudget(2, 7 * MB, () -> userService.validateUser(loginDTO));
+
+        // Then
+        assertTrue(userSession.isActive());
+    }
+
+    @Test
+    public void given_activeSession_when_invalidateSession_then_staysWithinBudget() throws Throwable {
+        // Given
+        String token = TokenUtils.generateToken(32);
+        userSessionRepository.save(UserSession.builder()
+                .token(token)
+                .user(testUser)
+                .active(true)
+                .build());
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        boolean result = withinBudget(1, 2 * MB, () -> userService.invalidateSession(token));
+
+        // Then
+        assertTrue(result);
+    }
+
+    @Test
+    public void given_activeSession_when_revokeAllSessions_then_staysWithinBudget() throws Throwable {
+        // Given
+        userSessionRepository.save(UserSession.builder()
+                .token(TokenUtils.generateToken(32))
+                .user(testUser)
+                .active(true)
+                .build());
+        AuthenticatedUser admin = authenticated(testUser);
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        Integer revoked = withinBudget(1, 2 * MB,
+                () -> userService.revokeAllSessions(admin, testUser.getId()));
+
+        // Then
+        assertEquals(1, revoked);
+    }
+
+    @Test
+    public void given_adminUser_when_disableUser_then_staysWithinBudget() throws Throwable {
+        // Given
+        User parent = userRepository.save(User.builder()
+                .email("parent@test.com")
+                .firstName("Test")
+                .lastName("Parent")
+                .password(BCrypt.hashpw("password", BCrypt.gensalt()))
+                .userStatus(UserStatus.ACTIVE)
+                .build());
+        AuthenticatedUser admin = authenticated(testUser);
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        Integer revoked = withinBudget(2, 3 * MB, () -> userService.disableUser(admin, parent.getId()));
+
+        // Then
+        assertEquals(0, revoked);
+    }
+
+    @Test
+    public void given_adminUser_when_addParent_then_staysWithinBudget() throws Throwable {
+        // Given
+        AuthenticatedUser admin = authenticated(testUser);
+        entityManager.flush();
+        entityManager.clear();
+        UserDTO parentDTO = UserDTO.builder()
+                .email("budget@test.com")
+                .firstName("Budget")
+                .lastName("Parent")
+                .password("parent-secret")
+                .build();
+
+        // When
+        User parent = withinBudget(3, 1 * MB, () -> userService.addParent(admin, parentDTO));
+
+        // Then
+        assertNotNull(parent);
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,57 @@
+package com.school.support;
+
+import com.school.persistence.QueryScope;
+import org.junit.jupiter.api.function.ThrowingSupplier;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Fails a test when a call issues more SQL statements, or allocates more heap, than it is allowed:
+ * <pre>
+ * PerformanceBudget.of(1, 2 * PerformanceBudget.MB).check(() -&gt; childService.getChildById(user, childId));
+ * </pre>
+ * Statements are counted by the datasource-proxy that {@link PerformanceBudgetConfig} installs, and a JDBC batch
+ * counts once. Allocation is read from {@link com.sun.management.ThreadMXBean}, so only the calling thread is
+ * measured. The first call of a query in the JVM also pays for parsing it and for class loading, several times the
+ * steady-state allocation, so budgets are set at about twice what the call allocates when run on its own.
+ */
+public record PerformanceBudget(int maxStatements, long maxAllocatedBytes) {
+
+    public static final long MB = 1024 * 1024;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    public static PerformanceBudget of(int maxStatements, long maxAllocatedBytes) {
+        return new PerformanceBudget(maxStatements, maxAllocatedBytes);
+    }
+
+    /**
+     * Runs the call and returns its result, failing if it went over budget.
+     */
+    public <T> T check(ThrowingSupplier<T> call) throws Throwable {
+        final var measured = measure(call);
+        if (measured.statements() > maxStatements) {
+            fail("Issued " + measured.statements() + " SQL statements, budget is " + maxStatements);
+        }
+        if (measured.allocatedBytes() > maxAllocatedBytes) {
+            fail("Allocated " + measured.allocatedBytes() + " bytes, budget is " + maxAllocatedBytes);
+        }
+        return measured.result();
+    }
+
+    public static <T> Measured<T> measure(ThrowingSupplier<T> call) throws Throwable {
+        final var allocationSupported = THREADS.isThreadAllocatedMemorySupported() && THREADS.isThreadAllocatedMemoryEnabled();
+        try (var scope = QueryScope.open("budget")) {
+            final var allocatedBefore = allocationSupported ? THREADS.getCurrentThreadAllocatedBytes() : 0;
+            final var result = call.get();
+            final var allocated = allocationSupported ? THREADS.getCurrentThreadAllocatedBytes() - allocatedBefore : 0;
+            return new Measured<>(result, scope.getStatements(), allocated);
+        }
+    }
+
+    public record Measured<T>(T result, int statements, long allocatedBytes) {
+    }
+}
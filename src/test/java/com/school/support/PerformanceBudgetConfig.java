@@ -0,0 +1,21 @@
+package com.school.support;
+
+import com.school.config.QueryMetricsConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Wraps the test data source in the statement-counting proxy that {@link PerformanceBudget} reads.
+ */
+@TestConfiguration
+@Import(QueryMetricsConfig.class)
+public class PerformanceBudgetConfig {
+
+    @Bean
+    MeterRegistry meterRegistry() {
+        return new SimpleMeterRegistry();
+    }
+}
@@ -8,6 +8,8 @@ USE `schoolday_test`;
 SET FOREIGN_KEY_CHECKS = 0;
 
 -- Clear all data from all tables
+DELETE FROM `daily_report`;
+DELETE FROM `monthly_report`;
 DELETE FROM `user_session`;
 DELETE FROM `parent_child`;
 DELETE FROM `user_role`;
@@ -8,6 +8,10 @@ DELETE FROM `user_session` WHERE `user_id` NOT IN (
     SELECT `id` FROM `user` WHERE `id` IN ('user_1', 'user_2', 'user_3', 'user_4', 'user_5', 'user_6', 'user_7', 'user_8', 'user_9', 'user_10')
 );
 
+-- Clear daily reports and their monthly rollups (depend on child and user)
+DELETE FROM `daily_report`;
+DELETE FROM `monthly_report`;
+
 -- Clear parent-child relationships (depends on user and child)
 DELETE FROM `parent_child` WHERE `parent_id` NOT IN (
     SELECT `id` FROM `user` WHERE `id` IN ('user_1', 'user_2', 'user_3', 'user_4', 'user_5', 'user_6', 'user_7', 'user_8', 'user_9', 'user_10')